@@ -0,0 +1,137 @@
+package application;
+
+import java.util.Locale;
+
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * Measure the throughput of the {@link FaceAnonymizer} on 1080p frames with 1,
+ * 10 and 50 faces, with one thread and with several, next to a naive blur of
+ * the whole frame.
+ * 1, 10, 50  ִ 1080p ӿ {@link FaceAnonymizer} ó    
+ * ϸ,  ü 帮 ϴ ܼ  մϴ.
+ *
+ * <pre>
+ * AnonymizerBenchmark [--image file] [--iterations n] [--threads n]
+ * </pre>
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class AnonymizerBenchmark
+{
+	private static final int WIDTH = 1920;
+	private static final int HEIGHT = 1080;
+	private static final int[] FACES = { 1, 10, 50 };
+
+	public static void main(String[] args)
+	{
+		String image = null;
+		int iterations = 200;
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int i = 0; i < args.length; i++)
+		{
+			if ("--image".equals(args[i]) && i + 1 < args.length)
+				image = args[++i];
+			else if ("--iterations".equals(args[i]) && i + 1 < args.length)
+				iterations = Integer.parseInt(args[++i]);
+			else if ("--threads".equals(args[i]) && i + 1 < args.length)
+				threads = Integer.parseInt(args[++i]);
+			else
+				System.err.println("Ignoring unknown argument " + args[i]);
+		}
+
+		// load the native OpenCV library
+		// Ƽ OpenCV ̺귯 ε
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+
+		Mat frame = new Mat();
+		if (image != null)
+			Imgproc.resize(Imgcodecs.imread(image), frame, new Size(WIDTH, HEIGHT), 0, 0, Imgproc.INTER_AREA);
+		else
+		{
+			frame = new Mat(HEIGHT, WIDTH, CvType.CV_8UC3);
+			Core.randu(frame, 0, 256);
+		}
+
+		System.out.println(String.format(Locale.ROOT, "%dx%d, %d iterations, %d processors", WIDTH, HEIGHT,
+				iterations, Runtime.getRuntime().availableProcessors()));
+		System.out.println("faces  method    threads  ms/frame  frames/s");
+
+		Mat blurred = new Mat();
+		for (int count : FACES)
+		{
+			Rect[] faces = layout(count);
+
+			// the naive way: blur the whole frame, then copy its faces into the frame
+			// ܼ :  ü 帮     κ ӿ 
+			Mat work = frame.clone();
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++)
+			{
+				Imgproc.GaussianBlur(work, blurred, new Size(31, 31), 0);
+				for (Rect face : faces)
+				{
+					Mat target = work.submat(face), source = blurred.submat(face);
+					source.copyTo(target);
+					target.release();
+					source.release();
+				}
+			}
+			print(Integer.toString(count), "full blur", 1, System.nanoTime() - start, iterations);
+			work.release();
+
+			for (FaceAnonymizer.Method method : FaceAnonymizer.Method.values())
+			{
+				for (int workers : threads > 1 ? new int[] { 1, threads } : new int[] { 1 })
+				{
+					FaceAnonymizer anonymizer = new FaceAnonymizer(method, 0.2, 0, workers);
+					work = frame.clone();
+					// warm up
+					// ־
+					for (int i = 0; i < 10; i++)
+						anonymizer.apply(work, faces);
+					start = System.nanoTime();
+					for (int i = 0; i < iterations; i++)
+						anonymizer.apply(work, faces);
+					print(Integer.toString(count), method.name().toLowerCase(), workers, System.nanoTime() - start,
+							iterations);
+					anonymizer.shutdown();
+					work.release();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return count faces spread on a grid over the frame, without overlap
+	 *         once padded
+	 * @return  ص ġ ʵ   ڿ ġ count 
+	 */
+	private static Rect[] layout(int count)
+	{
+		int columns = (int) Math.ceil(Math.sqrt(count * (double) WIDTH / HEIGHT));
+		int rows = (int) Math.ceil(count / (double) columns);
+		int cellWidth = WIDTH / columns, cellHeight = HEIGHT / rows;
+		int size = Math.min(300, (int) (Math.min(cellWidth, cellHeight) * 0.6));
+		Rect[] faces = new Rect[count];
+		for (int i = 0; i < count; i++)
+			faces[i] = new Rect((i % columns) * cellWidth + (cellWidth - size) / 2,
+					(i / columns) * cellHeight + (cellHeight - size) / 2, size, size);
+		return faces;
+	}
+
+	private static void print(String faces, String method, int threads, long nanos, int iterations)
+	{
+		double ms = nanos / 1e6 / iterations;
+		System.out.println(String.format(Locale.ROOT, "%5s  %-9s %7d %9.2f %9.1f", faces, method, threads, ms,
+				1000 / ms));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+package application;
+
+import org.opencv.core.Mat;
+import org.opencv.imgproc.Imgproc;
+import org.opencv.videoio.VideoCapture;
+import org.opencv.videoio.VideoWriter;
+import org.opencv.videoio.Videoio;
+
+/**
+ * A {@link FrameSource} reading from a camera through OpenCV.
+ * OpenCV  ī޶󿡼 д {@link FrameSource}Դϴ.
+ * In luma mode, the camera is asked for YUYV frames without the conversion to
+ * BGR, and the frames read are the luma (gray) plane, which is all the
+ * detection needs: the color frame is only converted by
+ * {@link #toColor(Mat)}, when it is displayed. If the camera or
+ * the backend cannot deliver raw frames, the source falls back to BGR.
+ * 縶 忡 ī޶ BGR ȯ  YUYV  ûϸ,   ⿡ ʿ 縶(ȸ)
+ * Դϴ: ÷  ǥ  {@link #toColor(Mat)} ȯ˴ϴ. ī޶ 鿣尡 
+ *     BGR ǵưϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class CameraFrameSource implements FrameSource
+{
+	// the OpenCV object that performs the video capture
+	//  ĸĸ ϱ  OpenCV ü
+	private final VideoCapture capture = new VideoCapture();
+	// the id of the camera to be used
+	//  ī޶ id
+	private final int cameraId;
+	// deliver the luma plane instead of BGR frames
+	// BGR   縶  
+	private final boolean luma;
+	private long timestamp;
+
+	// the layout of the raw frames negotiated with the camera, if any
+	// ī޶     (ִ )
+	private boolean raw;
+	private int width;
+	private int height;
+	private int lumaChannel;
+	private int colorConversion;
+	// the last raw frame, kept for the conversion to BGR
+	// BGR ȯ  ϴ   
+	private Mat lastRaw;
+	private Mat lastLuma;
+
+	public CameraFrameSource(int cameraId)
+	{
+		this(cameraId, false);
+	}
+
+	/**
+	 * Create a camera source
+	 * ī޶ ޿ մϴ.
+	 *
+	 * @param cameraId
+	 *            the id of the camera to be used
+	 * @param luma
+	 *            true to read the luma plane only, false to read BGR frames
+	 */
+	public CameraFrameSource(int cameraId, boolean luma)
+	{
+		this.cameraId = cameraId;
+		this.luma = luma;
+	}
+
+	@Override
+	public boolean open()
+	{
+		if (!this.capture.open(this.cameraId))
+			return false;
+		this.raw = this.luma && this.negotiateRaw();
+		return true;
+	}
+
+	/**
+	 * Ask the camera for YUYV frames, delivered as they are
+	 * ī޶ YUYV  ȯ  ϵ ûմϴ.
+	 *
+	 * @return true if the backend accepted to skip the conversion to BGR
+	 */
+	private boolean negotiateRaw()
+	{
+		this.capture.set(Videoio.CAP_PROP_FOURCC, VideoWriter.fourcc('Y', 'U', 'Y', 'V'));
+		if (!this.capture.set(Videoio.CAP_PROP_CONVERT_RGB, 0))
+		{
+			System.err.println("The camera does not deliver raw frames, capturing in BGR");
+			return false;
+		}
+
+		this.width = (int) this.capture.get(Videoio.CAP_PROP_FRAME_WIDTH);
+		this.height = (int) this.capture.get(Videoio.CAP_PROP_FRAME_HEIGHT);
+		// the camera may have picked another packed YUV order
+		// ī޶ ٸ packed YUV    
+		if ((int) this.capture.get(Videoio.CAP_PROP_FOURCC) == VideoWriter.fourcc('U', 'Y', 'V', 'Y'))
+		{
+			this.lumaChannel = 1;
+			this.colorConversion = Imgproc.COLOR_YUV2BGR_UYVY;
+		}
+		else
+		{
+			this.lumaChannel = 0;
+			this.colorConversion = Imgproc.COLOR_YUV2BGR_YUYV;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean isOpened()
+	{
+		return this.capture.isOpened();
+	}
+
+	@Override
+	public Mat read()
+	{
+		Mat frame = new Mat();
+		this.capture.read(frame);
+		this.timestamp = System.nanoTime();
+		if (!this.raw || frame.empty())
+			return frame;
+
+		Mat luma = Utils.extractLuma(frame, this.width, this.height, this.lumaChannel);
+		if (luma == null)
+		{
+			// not a layout we know (e.g., MJPG): go back to BGR
+			//     (: MJPG): BGR ǵư
+			System.err.println("Unexpected raw frame " + frame + ", capturing in BGR");
+			this.raw = false;
+			this.capture.set(Videoio.CAP_PROP_CONVERT_RGB, 1);
+			frame.release();
+			return this.read();
+		}
+		if (this.lastRaw != null)
+			this.lastRaw.release();
+		// a gray frame is its own luma plane, and belongs to the caller
+		// ȸ   ü 縶 ̸ ȣ 
+		this.lastRaw = luma != frame ? frame : null;
+		this.lastLuma = luma;
+		return luma;
+	}
+
+	/**
+	 * Convert a frame read from the camera to BGR; in luma mode, the color
+	 * frame is built from the raw frame of the last read.
+	 * ī޶󿡼   BGR ȯմϴ; 縶 忡     ÷  ϴ.
+	 */
+	@Override
+	public Mat toColor(Mat frame)
+	{
+		if (frame != this.lastLuma || this.lastRaw == null)
+			return FrameSource.super.toColor(frame);
+
+		Mat packed = this.lastRaw;
+		if (packed.channels() == 1 && packed.cols() != this.width)
+			packed = packed.reshape(2, this.height);
+		Mat color = new Mat();
+		Imgproc.cvtColor(packed, color, this.colorConversion);
+		return color;
+	}
+
+	@Override
+	public long getTimestamp()
+	{
+		return this.timestamp;
+	}
+
+	@Override
+	public void release()
+	{
+		if (this.capture.isOpened())
+			this.capture.release();
+		if (this.lastRaw != null)
+			this.lastRaw.release();
+		this.lastRaw = null;
+		this.lastLuma = null;
+	}
+}
\ No newline at end of file
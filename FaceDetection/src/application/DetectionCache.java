@@ -0,0 +1,396 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * A cache in front of the face detection, which returns the previous faces when
+ * the equalized frame has not changed.
+ * Ȱȭ   ʾ    ȯϴ,    ĳԴϴ.
+ * The signature of a frame is the mean of each block of 8x8 pixels at the
+ * detection resolution; it is compared with the signature of the frame the
+ * faces were detected on, not with the previous frame, so that a slow change
+ * adds up until it is seen. With a grid, the frame is split in cells and only
+ * the region of the cells that changed is detected again. A full detection is
+ * forced after a maximum number of frames, so that the results cannot drift.
+ *    ػ󵵿 8x8 ȼ   ̸,   ƴ    
+ * ϹǷ  ȭ Ǿ ˴ϴ. ڸ ϸ       ٽ մϴ.
+ *  ߳ ʵ ִ    ü  մϴ.
+ * A cache follows one stream of frames.
+ * ϳ ĳô ϳ  Ʈ 󰩴ϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class DetectionCache
+{
+	/**
+	 * The detection behind the cache
+	 * ĳ  
+	 */
+	public interface Detector
+	{
+		/**
+		 * @param gray
+		 *            the equalized frame, or a region of it
+		 * @return the faces, in the coordinates of the given image
+		 */
+		Rect[] detect(Mat gray);
+	}
+
+	// the size of a signature block, in pixels at the detection resolution
+	//   ũ ( ػ ȼ)
+	private static final int BLOCK = 8;
+	// above this fraction of the frame changed, a partial detection is not worth it
+	// ӿ  κ    κ   
+	private static final double MAX_PARTIAL_AREA = 0.5;
+	// a cached face must overlap a fresh one this much to count as the same
+	// ĳõ   󱼷 Ƿ  󱼰 ̸ŭ ľ 
+	private static final double MATCH_OVERLAP = 0.5;
+
+	// the difference of a single block, in gray levels, above which a frame changed
+	//  ߴٰ   ϳ  (ȸ ܰ)
+	private final double threshold;
+	// the number of cells on each side, 1 for the whole frame only
+	//     (1̸  ü)
+	private final int grid;
+	// the number of frames a result can be reused before a full detection
+	// ü      ִ  
+	private final int maxStaleness;
+	// compare a reused result with a fresh detection every this many reuses (0: never)
+	//    Ƚ    (0:   )
+	private final int verifyEvery;
+
+	private final Mat signature = new Mat();
+	// the signature of the frame each cell was last detected on
+	//      
+	private final Mat reference = new Mat();
+	private final Mat difference = new Mat();
+	private Rect[] faces = new Rect[0];
+	private int age;
+
+	// the statistics, written by the detection thread only and read by any
+	//  ( 常    )
+	private volatile long frames;
+	private volatile long hits;
+	private volatile long partialHits;
+	private volatile long forced;
+	private volatile long verified;
+	private volatile long freshFaces;
+	private volatile long returnedFaces;
+	private volatile long matchedFaces;
+
+	/**
+	 * Create a cache
+	 * ĳø մϴ.
+	 *
+	 * @param threshold
+	 *            the difference of a single block, in gray levels, above which
+	 *            a frame (or a cell) changed
+	 * @param grid
+	 *            the number of cells on each side, or 1 to compare the whole
+	 *            frame only
+	 * @param maxStaleness
+	 *            the number of frames a result can be reused before a full
+	 *            detection is forced
+	 * @param verifyEvery
+	 *            compare a reused result with a fresh detection every this many
+	 *            reuses, to measure the accuracy (0 for never)
+	 */
+	public DetectionCache(double threshold, int grid, int maxStaleness, int verifyEvery)
+	{
+		this.threshold = threshold;
+		this.grid = Math.max(grid, 1);
+		this.maxStaleness = maxStaleness;
+		this.verifyEvery = verifyEvery;
+	}
+
+	/**
+	 * Create a cache configured by the system properties facedetection.cache
+	 * (frame or grid), facedetection.cache.threshold (default 12 gray levels),
+	 * facedetection.cache.grid (default 4 cells on each side),
+	 * facedetection.cache.staleness (default 15 frames) and
+	 * facedetection.cache.verify (default 0: never)
+	 * ý Ӽ facedetection.cache (frame Ǵ grid), facedetection.cache.threshold (⺻ ȸ
+	 * 12ܰ), facedetection.cache.grid (⺻   4), facedetection.cache.staleness (⺻ 15
+	 * )  facedetection.cache.verify (⺻ 0:   )  ĳø մϴ.
+	 *
+	 * @return the cache, or null if the cache is disabled
+	 */
+	public static DetectionCache fromSystemProperties()
+	{
+		String mode = System.getProperty("facedetection.cache");
+		if (mode == null || mode.isEmpty())
+			return null;
+		if (!"frame".equals(mode) && !"grid".equals(mode))
+		{
+			System.err.println("Unknown detection cache " + mode + ", the cache is disabled");
+			return null;
+		}
+		double threshold = Double.parseDouble(System.getProperty("facedetection.cache.threshold", "12"));
+		int grid = "grid".equals(mode) ? Integer.getInteger("facedetection.cache.grid", 4) : 1;
+		int staleness = Integer.getInteger("facedetection.cache.staleness", 15);
+		int verify = Integer.getInteger("facedetection.cache.verify", 0);
+		return new DetectionCache(threshold, grid, staleness, verify);
+	}
+
+	/**
+	 * Get the faces of a frame, from the cache or from the detector
+	 * ĳ Ǵ ⿡   ɴϴ.
+	 *
+	 * @param gray
+	 *            the equalized frame
+	 * @param detector
+	 *            the detection to run on the frame, or on the regions that
+	 *            changed
+	 * @return the faces, in the coordinates of the frame
+	 */
+	public Rect[] detect(Mat gray, Detector detector)
+	{
+		this.frames++;
+		Size blocks = new Size(Math.max(gray.cols() / BLOCK, this.grid), Math.max(gray.rows() / BLOCK, this.grid));
+		Imgproc.resize(gray, this.signature, blocks, 0, 0, Imgproc.INTER_AREA);
+
+		if (this.reference.empty() || !this.reference.size().equals(this.signature.size()))
+			return this.full(gray, detector);
+		if (this.age >= this.maxStaleness)
+		{
+			this.forced++;
+			return this.full(gray, detector);
+		}
+
+		// the cells with a block that changed since they were detected: a
+		// face appearing in a few blocks is not averaged away
+		//     ִ :  Ͽ Ÿ  տ  
+		Core.absdiff(this.signature, this.reference, this.difference);
+		List<Rect> changed = new ArrayList<>();
+		int changedArea = 0;
+		for (int row = 0; row < this.grid; row++)
+		{
+			for (int column = 0; column < this.grid; column++)
+			{
+				Rect cell = this.cell(row, column);
+				Mat blocksOfCell = this.difference.submat(cell);
+				if (Core.minMaxLoc(blocksOfCell).maxVal > this.threshold)
+				{
+					changed.add(cell);
+					changedArea += cell.area();
+				}
+				blocksOfCell.release();
+			}
+		}
+
+		Rect[] result;
+		if (changed.isEmpty())
+		{
+			this.hits++;
+			result = this.faces;
+		}
+		else if (this.grid == 1 || changedArea > this.signature.total() * MAX_PARTIAL_AREA)
+			return this.full(gray, detector);
+		else
+		{
+			this.partialHits++;
+			result = this.partial(gray, detector, changed);
+		}
+		this.age++;
+
+		if (this.verifyEvery > 0 && (this.hits + this.partialHits) % this.verifyEvery == 0)
+			this.verify(result, detector.detect(gray));
+		return result;
+	}
+
+	/**
+	 * Detect the whole frame
+	 *  ü մϴ.
+	 */
+	private Rect[] full(Mat gray, Detector detector)
+	{
+		this.faces = detector.detect(gray);
+		this.signature.copyTo(this.reference);
+		this.age = 0;
+		return this.faces;
+	}
+
+	/**
+	 * Detect the region of the changed cells again, and keep the cached faces
+	 * outside of it
+	 *    ٽ ϰ,   ĳõ  մϴ.
+	 */
+	private Rect[] partial(Mat gray, Detector detector, List<Rect> changed)
+	{
+		// the bounding box of the changed cells, in frame coordinates
+		//     ( ǥ)
+		Rect dirty = this.toFrame(changed.get(0), gray);
+		for (Rect cell : changed)
+			dirty = Utils.union(dirty, this.toFrame(cell, gray));
+		// grow it by one cell so that a face across its border is found whole,
+		// then over every cached face it touches, which may have moved, until
+		// no face is partly inside
+		// 迡 ģ  ° ã  ŭ Ȯ , ̵  ִ   Ϻθ ġ  
+		//  󱼵 Ȯ
+		int marginX = gray.cols() / this.grid, marginY = gray.rows() / this.grid;
+		Rect bounds = new Rect(0, 0, gray.cols(), gray.rows());
+		dirty = Utils.intersection(new Rect(dirty.x - marginX, dirty.y - marginY,
+				dirty.width + 2 * marginX, dirty.height + 2 * marginY), bounds);
+		for (boolean grown = true; grown;)
+		{
+			grown = false;
+			for (Rect cached : this.faces)
+			{
+				Rect face = Utils.intersection(cached, bounds);
+				Rect inside = Utils.intersection(dirty, face);
+				if (inside.area() > 0 && inside.area() < face.area())
+				{
+					dirty = Utils.union(dirty, face);
+					grown = true;
+				}
+			}
+		}
+
+		// the faces inside are detected again, the others are kept
+		//   ٽ ϰ,  
+		List<Rect> result = new ArrayList<>();
+		for (Rect face : this.faces)
+		{
+			if (Utils.intersection(dirty, face).area() == 0)
+				result.add(face);
+		}
+		Mat region = gray.submat(dirty);
+		for (Rect face : detector.detect(region))
+			result.add(new Rect(face.x + dirty.x, face.y + dirty.y, face.width, face.height));
+		region.release();
+
+		// the changed cells are now up to date
+		//    ֽ 
+		for (Rect cell : changed)
+		{
+			Mat from = this.signature.submat(cell), to = this.reference.submat(cell);
+			from.copyTo(to);
+			from.release();
+			to.release();
+		}
+		this.faces = result.toArray(new Rect[result.size()]);
+		return this.faces;
+	}
+
+	/**
+	 * Compare a reused result with a fresh detection
+	 *     մϴ.
+	 */
+	private void verify(Rect[] reused, Rect[] fresh)
+	{
+		this.verified++;
+		this.freshFaces += fresh.length;
+		this.returnedFaces += reused.length;
+		List<Rect> candidates = new ArrayList<>();
+		for (Rect face : reused)
+			candidates.add(face);
+		for (Rect face : fresh)
+		{
+			Rect match = null;
+			double best = MATCH_OVERLAP;
+			for (Rect candidate : candidates)
+			{
+				double overlap = Utils.overlap(face, candidate);
+				if (overlap >= best)
+				{
+					best = overlap;
+					match = candidate;
+				}
+			}
+			if (match != null)
+			{
+				candidates.remove(match);
+				this.matchedFaces++;
+			}
+		}
+	}
+
+	/**
+	 * @return a cell of the grid, in signature blocks
+	 * @return   (  )
+	 */
+	private Rect cell(int row, int column)
+	{
+		int x = column * this.signature.cols() / this.grid, y = row * this.signature.rows() / this.grid;
+		return new Rect(x, y, (column + 1) * this.signature.cols() / this.grid - x,
+				(row + 1) * this.signature.rows() / this.grid - y);
+	}
+
+	/**
+	 * @return a rectangle of signature blocks, in frame coordinates
+	 * @return    簢 ( ǥ)
+	 */
+	private Rect toFrame(Rect blocks, Mat gray)
+	{
+		double sx = gray.cols() / (double) this.signature.cols(), sy = gray.rows() / (double) this.signature.rows();
+		int x = (int) Math.floor(blocks.x * sx), y = (int) Math.floor(blocks.y * sy);
+		return new Rect(x, y, (int) Math.ceil((blocks.x + blocks.width) * sx) - x,
+				(int) Math.ceil((blocks.y + blocks.height) * sy) - y);
+	}
+
+	/**
+	 * Forget the cached faces, e.g., when the stream restarts
+	 * ĳõ  ؽϴ (: Ʈ ٽ ۵ ).
+	 */
+	public void reset()
+	{
+		this.reference.release();
+		this.faces = new Rect[0];
+		this.age = 0;
+	}
+
+	/**
+	 * @return the fraction of the frames whose result was reused, in whole or
+	 *         in part
+	 * @return   Ǵ Ϻ   
+	 */
+	public double getHitRate()
+	{
+		return this.frames == 0 ? 0 : (this.hits + this.partialHits) / (double) this.frames;
+	}
+
+	/**
+	 * @return the hit rate and, if the reused results were verified, their
+	 *         recall and precision against a fresh detection
+	 * @return ߷,          е
+	 */
+	public String report()
+	{
+		StringBuilder report = new StringBuilder();
+		report.append(String.format(Locale.ROOT,
+				"Detection cache: %d frames, hit rate %.1f%% (%d reused, %d partly reused), %d full detections forced by staleness",
+				this.frames, 100 * this.getHitRate(), this.hits, this.partialHits, this.forced));
+		if (this.verified > 0)
+			report.append(String.format(Locale.ROOT,
+					"%nVerified %d reused results: recall %.1f%% (%d of %d fresh faces), precision %.1f%% (%d of %d reused faces)",
+					this.verified, percent(this.matchedFaces, this.freshFaces), this.matchedFaces, this.freshFaces,
+					percent(this.matchedFaces, this.returnedFaces), this.matchedFaces, this.returnedFaces));
+		return report.toString();
+	}
+
+	private static double percent(long part, long total)
+	{
+		return total == 0 ? 100 : 100.0 * part / total;
+	}
+
+	/**
+	 * Release the buffers of the cache
+	 * ĳ ۸ մϴ.
+	 */
+	public void release()
+	{
+		this.signature.release();
+		this.reference.release();
+		this.difference.release();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,269 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.opencv.core.Rect;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Bounds;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+
+/**
+ * Draw the detections on a {@link Canvas} laid over the {@link ImageView} of
+ * the frames, instead of drawing them into the frames.
+ *   ӿ ׸   {@link ImageView}   {@link Canvas} ׸ϴ.
+ * The detections are delivered as data by {@link #update(DetectionResult, int, int)},
+ * from any thread; the overlay is redrawn at the display rate and moves each
+ * face smoothly from where it was drawn to its last detected position, over the
+ * time between two detections.
+ *    忡 {@link #update(DetectionResult, int, int)} ͷ ޵Ǹ,
+ * ̴ ȭ  ֱ ٽ ׷   ׷ ġ   ġ    ð 
+ * ε巴 ̵ŵϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class DetectionOverlay
+{
+	// a face must overlap its previous position this much to be interpolated
+	// Ϸ   ġ ̸ŭ ľ 
+	private static final double MATCH_OVERLAP = 0.3;
+	// the longest time a move is interpolated over
+	// ̵ ϴ ִ ð
+	private static final long MAX_INTERVAL = TimeUnit.MILLISECONDS.toNanos(250);
+
+	private final Canvas canvas;
+	private final ImageView view;
+	// redraws the overlay on every JavaFX pulse
+	// JavaFX ޽ ̸ ٽ ׸
+	private final AnimationTimer timer = new AnimationTimer() {
+		@Override
+		public void handle(long now)
+		{
+			draw(now);
+		}
+	};
+	// the last detection, replaced as a whole by the detection thread
+	//   ( 尡 ° ü)
+	private volatile Detection detection;
+
+	/**
+	 * Create an overlay
+	 * ̸ մϴ.
+	 *
+	 * @param canvas
+	 *            the canvas laid over the view
+	 * @param view
+	 *            the view showing the frames
+	 */
+	public DetectionOverlay(Canvas canvas, ImageView view)
+	{
+		this.canvas = canvas;
+		this.view = view;
+		this.canvas.setMouseTransparent(true);
+	}
+
+	/**
+	 * Start redrawing the overlay (on the JavaFX thread)
+	 *  ٽ ׸⸦ մϴ (JavaFX 忡).
+	 */
+	public void start()
+	{
+		this.timer.start();
+	}
+
+	/**
+	 * Stop redrawing the overlay (on the JavaFX thread)
+	 *  ٽ ׸⸦ մϴ (JavaFX 忡).
+	 */
+	public void stop()
+	{
+		this.timer.stop();
+	}
+
+	/**
+	 * Deliver the detection result of a new frame
+	 *     մϴ.
+	 *
+	 * @param result
+	 *            the faces and features, in frame coordinates
+	 * @param frameWidth
+	 *            the width of the frame
+	 * @param frameHeight
+	 *            the height of the frame
+	 */
+	public void update(DetectionResult result, int frameWidth, int frameHeight)
+	{
+		long now = System.nanoTime();
+		Detection last = this.detection;
+		if (last == null || last.frameWidth != frameWidth || last.frameHeight != frameHeight)
+			this.detection = new Detection(result, null, now, 0, frameWidth, frameHeight);
+		else
+			this.detection = new Detection(result, last.facesAt(now), now, Math.min(now - last.time, MAX_INTERVAL),
+					frameWidth, frameHeight);
+	}
+
+	/**
+	 * Remove the detections from the overlay
+	 * ̿   մϴ.
+	 */
+	public void clear()
+	{
+		this.detection = null;
+	}
+
+	/**
+	 * Redraw the overlay
+	 * ̸ ٽ ׸ϴ.
+	 *
+	 * @param now
+	 *            the time of the pulse, in nanoseconds
+	 */
+	private void draw(long now)
+	{
+		// follow the size of the view
+		//  ũ⸦ 
+		Bounds bounds = this.view.getLayoutBounds();
+		if (this.canvas.getWidth() != bounds.getWidth() || this.canvas.getHeight() != bounds.getHeight())
+		{
+			this.canvas.setWidth(bounds.getWidth());
+			this.canvas.setHeight(bounds.getHeight());
+		}
+		GraphicsContext gc = this.canvas.getGraphicsContext2D();
+		gc.clearRect(0, 0, this.canvas.getWidth(), this.canvas.getHeight());
+
+		Detection detection = this.detection;
+		if (detection == null || this.view.getImage() == null)
+			return;
+		double scale = this.canvas.getWidth() / detection.frameWidth;
+		double[][] faces = detection.facesAt(now);
+
+		// the faces, in green
+		//  
+		gc.setStroke(Color.LIME);
+		gc.setLineWidth(3);
+		for (double[] face : faces)
+			gc.strokeRect(face[0] * scale, face[1] * scale, face[2] * scale, face[3] * scale);
+
+		// the features, in blue, moving with their face
+		// Ư¡ Ķ, 󱼰 Բ ̵
+		gc.setStroke(Color.BLUE);
+		gc.setLineWidth(2);
+		Rect[] detected = detection.result.getFaces();
+		for (Rect[] features : detection.result.getFeatures().values())
+		{
+			for (Rect feature : features)
+			{
+				double dx = 0, dy = 0;
+				int face = indexOfContaining(detected, feature);
+				if (face >= 0)
+				{
+					dx = faces[face][0] - detected[face].x;
+					dy = faces[face][1] - detected[face].y;
+				}
+				gc.strokeRect((feature.x + dx) * scale, (feature.y + dy) * scale, feature.width * scale,
+						feature.height * scale);
+			}
+		}
+	}
+
+	/**
+	 * @return the index of the face containing the center of a feature, or -1
+	 * @return Ư¡ ߽ ϴ  ȣ Ǵ -1
+	 */
+	private static int indexOfContaining(Rect[] faces, Rect feature)
+	{
+		double x = feature.x + feature.width / 2.0, y = feature.y + feature.height / 2.0;
+		for (int i = 0; i < faces.length; i++)
+		{
+			if (x >= faces[i].x && x < faces[i].x + faces[i].width && y >= faces[i].y
+					&& y < faces[i].y + faces[i].height)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * A detection result, with the positions its faces are moving from
+	 *  ̵ ϴ ġ   
+	 */
+	private static class Detection
+	{
+		final DetectionResult result;
+		// the drawn position of each face when the result arrived, or null
+		//      ׷ ġ ( null)
+		final double[][] from;
+		final long time;
+		final long interval;
+		final int frameWidth;
+		final int frameHeight;
+
+		Detection(DetectionResult result, double[][] previous, long time, long interval, int frameWidth,
+				int frameHeight)
+		{
+			this.result = result;
+			this.time = time;
+			this.interval = interval;
+			this.frameWidth = frameWidth;
+			this.frameHeight = frameHeight;
+
+			// match each face with the drawn face it overlaps most
+			//     ġ ׷ 󱼰 ¦
+			Rect[] faces = result.getFaces();
+			this.from = new double[faces.length][];
+			if (previous == null)
+				return;
+			List<double[]> candidates = new ArrayList<>();
+			for (double[] face : previous)
+				candidates.add(face);
+			for (int i = 0; i < faces.length; i++)
+			{
+				double best = MATCH_OVERLAP;
+				for (double[] candidate : candidates)
+				{
+					double overlap = Utils.overlap(faces[i], new Rect((int) Math.round(candidate[0]),
+							(int) Math.round(candidate[1]), (int) Math.round(candidate[2]),
+							(int) Math.round(candidate[3])));
+					if (overlap > best)
+					{
+						best = overlap;
+						this.from[i] = candidate;
+					}
+				}
+				candidates.remove(this.from[i]);
+			}
+		}
+
+		/**
+		 * @return the position of the faces at the given time: on their way
+		 *         from the drawn position to the detected one
+		 * @return ־ ð  ġ: ׷ ġ  ġ ̵ 
+		 */
+		double[][] facesAt(long now)
+		{
+			double alpha = this.interval <= 0 ? 1 : Math.min(Math.max((now - this.time) / (double) this.interval, 0), 1);
+			Rect[] faces = this.result.getFaces();
+			double[][] positions = new double[faces.length][];
+			for (int i = 0; i < faces.length; i++)
+			{
+				double[] to = { faces[i].x, faces[i].y, faces[i].width, faces[i].height };
+				double[] from = this.from[i];
+				if (from == null)
+				{
+					positions[i] = to;
+					continue;
+				}
+				positions[i] = new double[4];
+				for (int k = 0; k < 4; k++)
+					positions[i][k] = from[k] + (to[k] - from[k]) * alpha;
+			}
+			return positions;
+		}
+	}
+}
\ No newline at end of file
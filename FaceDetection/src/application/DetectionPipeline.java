@@ -0,0 +1,181 @@
+package application;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfRect;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.objdetect.CascadeClassifier;
+import org.opencv.objdetect.Objdetect;
+
+/**
+ * The face detection applied to each frame, without any user interface: the
+ * preprocessing, then either a single cascade or a
+ * {@link MultiCascadeDetector}.
+ *  ̽   ӿ Ǵ  Դϴ: ó   ĳ̵ Ǵ
+ * {@link MultiCascadeDetector} մϴ.
+ * A pipeline keeps reusable buffers and is meant for one stream of frames at a
+ * time.
+ *   ۸    ϳ  Ʈ մϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class DetectionPipeline
+{
+	// gray conversion and equalization of the frames, with its reusable output
+	//  ȸ ȯ  Ȱȭ, Ǵ 
+	private final FramePreprocessor preprocessor;
+	private boolean calibrate;
+	private final Mat grayFrame = new Mat();
+	private final MatOfRect faces = new MatOfRect();
+	// face cascade classifier
+	//  cascade з
+	private CascadeClassifier faceCascade;
+	// the detector used when several cascades are selected
+	//  ĳ̵尡 õǾ  ϴ 
+	private MultiCascadeDetector multiDetector;
+	// reuses the faces of the single cascade while the frames do not change, if set
+	//   ʴ   ĳ̵   ( )
+	private DetectionCache cache;
+
+	/**
+	 * Create a pipeline
+	 *  մϴ.
+	 *
+	 * @param preprocessor
+	 *            the preprocessing of the frames
+	 * @param calibrate
+	 *            true to pick the faster preprocessing on the first frame
+	 */
+	public DetectionPipeline(FramePreprocessor preprocessor, boolean calibrate)
+	{
+		this.preprocessor = preprocessor;
+		this.calibrate = calibrate;
+	}
+
+	/**
+	 * @param faceCascade
+	 *            the cascade used when no {@link MultiCascadeDetector} is set
+	 * @param faceCascade {@link MultiCascadeDetector}   ϴ ĳ̵
+	 */
+	public void setFaceCascade(CascadeClassifier faceCascade)
+	{
+		this.faceCascade = faceCascade;
+	}
+
+	/**
+	 * @param multiDetector
+	 *            the detector to use instead of the single cascade, or null
+	 * @param multiDetector  ĳ̵    Ǵ null
+	 */
+	public void setMultiDetector(MultiCascadeDetector multiDetector)
+	{
+		this.multiDetector = multiDetector;
+	}
+
+	/**
+	 * @param cache
+	 *            the cache in front of the single cascade, or null
+	 * @param cache  ĳ̵  ĳ Ǵ null
+	 */
+	public void setCache(DetectionCache cache)
+	{
+		this.cache = cache;
+	}
+
+	public DetectionCache getCache()
+	{
+		return this.cache;
+	}
+
+	public FramePreprocessor getPreprocessor()
+	{
+		return this.preprocessor;
+	}
+
+	/**
+	 * Look for faces in a frame
+	 * ӿ  ãϴ.
+	 *
+	 * @param frame
+	 *            the frame, in BGR or gray scale
+	 * @return the faces and features, in frame coordinates
+	 */
+	public DetectionResult detect(Mat frame)
+	{
+		// on the first frame, pick the faster preprocessing implementation
+		// ù ӿ   ó  
+		if (this.calibrate)
+		{
+			this.calibrate = false;
+			System.out.println("Preprocessing with " + this.preprocessor.calibrate(frame, 20));
+		}
+		// convert the frame in gray scale and equalize its histogram to
+		// improve the result
+		//  ȸ ȯϰ ׷ յȭϿ  Ŵ
+		this.preprocessor.process(frame, this.grayFrame);
+
+		// compute minimum face size (20% of the frame height, in our case)
+		// ּ ̽ ũ ( ,   20%)
+		int absoluteFaceSize = Math.max(Math.round(this.grayFrame.rows() * 0.2f), 1);
+		Size minSize = new Size(absoluteFaceSize, absoluteFaceSize);
+
+		// detect faces
+		//  
+		DetectionResult result;
+		if (this.multiDetector != null)
+		{
+			result = this.multiDetector.detect(this.grayFrame, minSize, new Size());
+		}
+		else if (this.cache != null)
+		{
+			result = new DetectionResult(this.cache.detect(this.grayFrame, gray -> this.detectFaces(gray, minSize)));
+		}
+		else
+		{
+			result = new DetectionResult(this.detectFaces(this.grayFrame, minSize));
+		}
+
+		// the detection may run on a downscaled frame
+		//  ҵ ӿ   
+		int scale = this.preprocessor.getDownscale();
+		if (scale == 1)
+			return result;
+		Map<String, Rect[]> features = new HashMap<>();
+		for (Map.Entry<String, Rect[]> entry : result.getFeatures().entrySet())
+			features.put(entry.getKey(), scale(entry.getValue(), scale));
+		return new DetectionResult(scale(result.getFaces(), scale), features);
+	}
+
+	private Rect[] detectFaces(Mat gray, Size minSize)
+	{
+		this.faceCascade.detectMultiScale(gray, this.faces, 1.1, 2, 0 | Objdetect.CASCADE_SCALE_IMAGE, minSize,
+				new Size());
+		return this.faces.toArray();
+	}
+
+	/**
+	 * Release the buffers of the pipeline
+	 *  ۸ մϴ.
+	 */
+	public void release()
+	{
+		this.grayFrame.release();
+		this.faces.release();
+		if (this.cache != null)
+			this.cache.release();
+	}
+
+	private static Rect[] scale(Rect[] rects, int scale)
+	{
+		Rect[] scaled = new Rect[rects.length];
+		for (int i = 0; i < rects.length; i++)
+			scaled[i] = new Rect(rects[i].x * scale, rects[i].y * scale, rects[i].width * scale,
+					rects[i].height * scale);
+		return scaled;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package application;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.opencv.core.Rect;
+
+/**
+ * The outcome of the detection on a single frame: the faces and, optionally,
+ * the features (eyes, profiles, ...) found inside them, all in frame
+ * coordinates.
+ *  ӿ   Դϴ: 󱼰,   ȿ ã Ư¡(,  )̸   ǥԴϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class DetectionResult
+{
+	// the detected faces
+	//  
+	private final Rect[] faces;
+	// the features found inside the faces, by cascade name
+	//  ȿ ã Ư¡ (ĳ̵ ̸)
+	private final Map<String, Rect[]> features;
+
+	/**
+	 * Create a result with faces only
+	 * 󱼸 ִ  մϴ.
+	 *
+	 * @param faces
+	 *            the detected faces
+	 */
+	public DetectionResult(Rect[] faces)
+	{
+		this(faces, Collections.<String, Rect[]> emptyMap());
+	}
+
+	/**
+	 * Create a result with faces and features
+	 * 󱼰 Ư¡ ִ  մϴ.
+	 *
+	 * @param faces
+	 *            the detected faces
+	 * @param features
+	 *            the features found inside the faces, by cascade name
+	 */
+	public DetectionResult(Rect[] faces, Map<String, Rect[]> features)
+	{
+		this.faces = faces;
+		this.features = Collections.unmodifiableMap(features);
+	}
+
+	public Rect[] getFaces()
+	{
+		return this.faces;
+	}
+
+	public Map<String, Rect[]> getFeatures()
+	{
+		return this.features;
+	}
+}
\ No newline at end of file
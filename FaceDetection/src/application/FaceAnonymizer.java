@@ -0,0 +1,311 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * Blur or pixelate the faces of a frame, in place, and only inside the faces.
+ *   ڸ,  ȿ 帮 ϰų ũ óմϴ.
+ * Each face is grown by a padding, and stays masked at its last position for a
+ * few frames after it is no longer detected, so that a missed detection does
+ * not show the face for one frame. When there are many faces, they are
+ * processed in parallel.
+ *   鸸ŭ ȮǸ,  ̻  ʾƵ     ġ  · ǹǷ
+ *    ĵ  巯 ʽϴ.   ķ ó˴ϴ.
+ * An anonymizer follows one stream of frames. It hides the faces of the
+ * frames shown only: the recordings hold the frames as captured, with the
+ * faces unmasked, so nothing is recorded while an anonymizer is active unless
+ * facedetection.record.raw=true says so explicitly.
+ * ϳ ͸ȭ ϳ  Ʈ 󰩴ϴ. ǥõǴ  󱼸 , ȭ ĸó ״
+ *     ä Ƿ, ͸ȭⰡ Ȱȭ ȿ facedetection.record.raw=true
+ *  ʴ  ƹ͵  ʽϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class FaceAnonymizer
+{
+	/**
+	 * The way the faces are hidden
+	 *   
+	 */
+	public enum Method
+	{
+		BLUR, PIXELATE
+	}
+
+	// a face must overlap a masked face this much to be the same face
+	//  ̷  󱼰 ̸ŭ ľ 
+	private static final double MATCH_OVERLAP = 0.3;
+	// the number of blocks across the shorter side of a region, whatever its
+	// size, so that close faces are hidden as well as distant ones
+	//  ª     (ũ ),  󱼵  󱼸ŭ 
+	private static final int BLOCKS_ACROSS = 8;
+	// below this number of regions, the calling thread does all the work
+	//   ̺  ȣ 尡  ۾ 
+	private static final int PARALLEL_REGIONS = 4;
+
+	private final Method method;
+	// the padding added around each face, as a fraction of its size
+	//    ߰ϴ  ( ũ )
+	private final double padding;
+	// the number of frames a face stays masked after it was last detected
+	//      · Ǵ  
+	private final int persistence;
+	private final ExecutorService workers;
+	// the faces being masked, with the number of frames since they were seen
+	//  ִ 󱼰,     
+	private final List<MaskedFace> masked = new ArrayList<>();
+
+	/**
+	 * Create an anonymizer
+	 * ͸ȭ⸦ մϴ.
+	 *
+	 * @param method
+	 *            blur or pixelate
+	 * @param padding
+	 *            the padding added around each face, as a fraction of its size
+	 * @param persistence
+	 *            the number of frames a face stays masked after it was last
+	 *            detected
+	 * @param threads
+	 *            the number of threads used when there are many faces
+	 */
+	public FaceAnonymizer(Method method, double padding, int persistence, int threads)
+	{
+		this.method = method;
+		this.padding = padding;
+		this.persistence = persistence;
+		this.workers = threads > 1 ? Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "anonymizer-worker");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+	}
+
+	/**
+	 * Create an anonymizer configured by the system properties
+	 * facedetection.anonymize (blur or pixelate), facedetection.anonymize.padding
+	 * (default 0.2) and facedetection.anonymize.persistence (default 5 frames);
+	 * an unknown method is reported and the faces are blurred
+	 * ý Ӽ facedetection.anonymize (blur Ǵ pixelate), facedetection.anonymize.padding
+	 * (⺻ 0.2)  facedetection.anonymize.persistence (⺻ 5 )  ͸ȭ⸦ մϴ.
+	 *     ϰ  帮 մϴ.
+	 *
+	 * @return the anonymizer, or null if the anonymization is disabled
+	 */
+	public static FaceAnonymizer fromSystemProperties()
+	{
+		String method = System.getProperty("facedetection.anonymize");
+		if (method == null || method.isEmpty())
+			return null;
+		Method selected = Method.BLUR;
+		try
+		{
+			selected = Method.valueOf(method.trim().toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException e)
+		{
+			// a mistyped method must not show the faces
+			// ߸ Է    巯  
+			System.err.println("Unknown facedetection.anonymize method " + method + " (blur or pixelate), "
+					+ "the faces are blurred");
+		}
+		double padding = 0.2;
+		String paddingValue = System.getProperty("facedetection.anonymize.padding");
+		if (paddingValue != null)
+		{
+			try
+			{
+				padding = Double.parseDouble(paddingValue);
+			}
+			catch (NumberFormatException e)
+			{
+				System.err.println("Invalid facedetection.anonymize.padding " + paddingValue + ", " + padding + " is used");
+			}
+		}
+		int persistence = Integer.getInteger("facedetection.anonymize.persistence", 5);
+		return new FaceAnonymizer(selected, padding, persistence, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Hide the faces of a frame
+	 *   ϴ.
+	 *
+	 * @param frame
+	 *            the frame, modified in place
+	 * @param faces
+	 *            the faces detected in this frame, in frame coordinates
+	 * @return the regions that were hidden
+	 */
+	public Rect[] apply(Mat frame, Rect[] faces)
+	{
+		List<Rect> regions = this.track(faces, frame.cols(), frame.rows());
+		if (this.workers == null || regions.size() < PARALLEL_REGIONS)
+		{
+			for (Rect region : regions)
+				this.hide(frame, region);
+		}
+		else
+		{
+			// the regions do not overlap: each task writes its own pixels
+			//  ġ Ƿ  ۾ ڱ ȼ 
+			List<Future<?>> tasks = new ArrayList<>();
+			for (Rect region : regions)
+				tasks.add(this.workers.submit(() -> this.hide(frame, region)));
+			for (Future<?> task : tasks)
+				await(task);
+		}
+		return regions.toArray(new Rect[regions.size()]);
+	}
+
+	/**
+	 * Update the masked faces with the faces of a new frame
+	 *   󱼷   մϴ.
+	 *
+	 * @return the regions to hide in the frame, padded, clipped and not
+	 *         overlapping
+	 */
+	private List<Rect> track(Rect[] faces, int width, int height)
+	{
+		for (MaskedFace face : this.masked)
+			face.missed++;
+		for (Rect face : faces)
+		{
+			Rect padded = this.pad(face);
+			MaskedFace match = null;
+			double best = MATCH_OVERLAP;
+			for (MaskedFace candidate : this.masked)
+			{
+				double overlap = Utils.overlap(padded, candidate.region);
+				if (candidate.missed > 0 && overlap > best)
+				{
+					best = overlap;
+					match = candidate;
+				}
+			}
+			if (match == null)
+				this.masked.add(new MaskedFace(padded));
+			else
+			{
+				match.region = padded;
+				match.missed = 0;
+			}
+		}
+		for (Iterator<MaskedFace> i = this.masked.iterator(); i.hasNext();)
+		{
+			if (i.next().missed > this.persistence)
+				i.remove();
+		}
+
+		// clip to the frame, and merge the overlapping regions
+		// ӿ ° ڸ ġ  ħ
+		Rect bounds = new Rect(0, 0, width, height);
+		List<Rect> regions = new ArrayList<>();
+		for (MaskedFace face : this.masked)
+		{
+			Rect region = Utils.intersection(face.region, bounds);
+			if (region.area() > 0)
+				regions.add(region);
+		}
+		return Utils.union(regions);
+	}
+
+	private Rect pad(Rect face)
+	{
+		int dx = (int) Math.round(face.width * this.padding), dy = (int) Math.round(face.height * this.padding);
+		return new Rect(face.x - dx, face.y - dy, face.width + 2 * dx, face.height + 2 * dy);
+	}
+
+	/**
+	 * Blur or pixelate a region of the frame, in place
+	 *    ڸ 帮 ϰų ũ óմϴ.
+	 */
+	private void hide(Mat frame, Rect region)
+	{
+		Mat roi = frame.submat(region);
+		Mat small = new Mat();
+		// the pixels of a pixelation block, or the downscale of the blur
+		// ũ  ȼ  Ǵ 帲 ȿ  
+		double blockSize = Math.max(1, Math.min(region.width, region.height) / (double) BLOCKS_ACROSS);
+		Size reduced = new Size(Math.max(1, Math.round(region.width / blockSize)),
+				Math.max(1, Math.round(region.height / blockSize)));
+		Imgproc.resize(roi, small, reduced, 0, 0, Imgproc.INTER_AREA);
+		if (this.method == Method.PIXELATE)
+		{
+			Imgproc.resize(small, roi, roi.size(), 0, 0, Imgproc.INTER_NEAREST);
+		}
+		else
+		{
+			// a blur of the reduced region, scaled back: as strong as a large
+			// kernel at a fraction of its cost
+			// ҵ  帮   ٽ Ȯ: ū Ŀθŭ   Ϻ
+			Imgproc.GaussianBlur(small, small, new Size(3, 3), 0);
+			Imgproc.resize(small, roi, roi.size(), 0, 0, Imgproc.INTER_LINEAR);
+		}
+		small.release();
+		roi.release();
+	}
+
+	/**
+	 * Forget the masked faces, e.g., when the stream restarts
+	 *   ؽϴ (: Ʈ ٽ ۵ ).
+	 */
+	public void reset()
+	{
+		this.masked.clear();
+	}
+
+	/**
+	 * Stop the worker threads
+	 * ۾ 带 մϴ.
+	 */
+	public void shutdown()
+	{
+		if (this.workers != null)
+			this.workers.shutdown();
+	}
+
+	private static void await(Future<?> task)
+	{
+		try
+		{
+			task.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("Anonymization failed", e.getCause());
+		}
+	}
+
+	/**
+	 * A face being masked
+	 *  ִ 
+	 */
+	private static class MaskedFace
+	{
+		Rect region;
+		int missed;
+
+		MaskedFace(Rect region)
+		{
+			this.region = region;
+		}
+	}
+}
\ No newline at end of file
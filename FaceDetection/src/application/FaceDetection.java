@@ -1,7 +1,5 @@
 package application;
 	
-import org.opencv.core.Core;
-
 import javafx.application.Application;
 import javafx.event.EventHandler;
 import javafx.stage.Stage;
@@ -34,8 +32,10 @@ public class FaceDetection extends Application
 		{
 			// load the FXML resource
 			// FXML ҽ εմϴ.
+			long start = StartupTimer.begin();
 			FXMLLoader loader = new FXMLLoader(getClass().getResource("FaceDetection.fxml"));
 			BorderPane root = (BorderPane) loader.load();
+			StartupTimer.end("FXML", start);
 			// set a whitesmoke background
 			//  ȭƮ ũ (color HEX : #F5F5F5) մϴ.( ʱȭ)
 			root.setStyle("-fx-background-color: whitesmoke;");
@@ -51,9 +51,11 @@ public class FaceDetection extends Application
 			// show the GUI
 			// GUI ݴϴ.
 			primaryStage.show();
+			StartupTimer.mark("stage shown");
 			
-			// init the controller
-			// Ʈѷ ʱȭմϴ.
+			// init the controller, once the native library is loaded
+			// Ƽ ̺귯 εǸ Ʈѷ ʱȭմϴ.
+			StartupLoader.awaitNativeLibrary();
 			FaceDetectionController controller = loader.getController();
 			controller.init();
 			
@@ -65,6 +67,10 @@ public class FaceDetection extends Application
 					controller.setClosed();
 				}
 			}));
+			
+			// start the camera right away, if configured
+			//   ī޶ ٷ մϴ.
+			controller.autoStart();
 		}
 		catch (Exception e)
 		{
@@ -74,9 +80,15 @@ public class FaceDetection extends Application
 	
 	public static void main(String[] args)
 	{
-		// load the native OpenCV library
-		// ̸(Ư  α׷ ) OpenCV ̺귯 ε
-		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+		StartupTimer.mark("main");
+		// load the native OpenCV library and the classifiers in the background,
+		// while JavaFX starts and loads the FXML, then warm up the detection
+		// ̸(Ư  α׷ ) OpenCV ̺귯 з⸦ JavaFX ۵ǰ FXML εϴ 
+		// ׶忡 ε ,  ־մϴ.
+		String warmUp = Boolean.parseBoolean(System.getProperty("facedetection.warmup", "true"))
+				? FaceDetectionController.HAAR_CASCADE : null;
+		StartupLoader.begin(warmUp, FaceDetectionController.HAAR_CASCADE, FaceDetectionController.LBP_CASCADE,
+				FaceDetectionController.EYE_CASCADE);
 		
 		launch(args);
 	}
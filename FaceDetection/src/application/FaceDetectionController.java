@@ -1,22 +1,21 @@
 package application;
 
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.opencv.core.Mat;
-import org.opencv.core.MatOfRect;
-import org.opencv.core.Rect;
-import org.opencv.core.Scalar;
-import org.opencv.core.Size;
-import org.opencv.imgproc.Imgproc;
 import org.opencv.objdetect.CascadeClassifier;
-import org.opencv.objdetect.Objdetect;
-import org.opencv.videoio.VideoCapture;
 
 import application.Utils;
+import javafx.application.Platform;
 import javafx.event.Event;
 import javafx.fxml.FXML;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.image.Image;
@@ -49,6 +48,10 @@ public class FaceDetectionController
 	//   ֱ  FXML 
 	@FXML
 	private ImageView originalFrame;
+	// the FXML canvas laid over the frames, for the detections
+	//       FXML ĵ
+	@FXML
+	private Canvas overlay;
 	// checkboxes for enabling/disabling a classifier
 	// бޱ Ȱȭ/Ȱȭ Ȯζ
 	// 󿡼    ̿ feature(haar Classifier)
@@ -57,21 +60,52 @@ public class FaceDetectionController
 	//   ȼ  Ǵ μ  ȼ ֺ 3 x 3    ȭ 2 ڵ ε (LBP Classifier)
 	@FXML
 	private CheckBox lbpClassifier; 
+	// run the Haar and LBP face classifiers together, plus the eye classifier inside the faces
+	// Haar LBP  з⸦ Բ ϰ,  ȿ  з⸦ 
+	@FXML
+	private CheckBox multiClassifier;
+	
+	// the trained sets of the classifiers
+	// з  Ʈ
+	//  - ĳ̵  (Assertion failed (!empty())  ߻ϰ cascade ν .)
+	static final String HAAR_CASCADE = "C:\\opencv\\sources\\data\\haarcascades\\haarcascade_frontalface_alt.xml";
+	static final String LBP_CASCADE = "C:\\opencv\\sources\\data\\lbpcascades\\lbpcascade_frontalface.xml";
+	static final String EYE_CASCADE = "C:\\opencv\\sources\\data\\haarcascades\\haarcascade_eye.xml";
+	// how long the FX thread waits for the frame being processed when stopping, in ms
+	//   FX 尡 ó   ٸ ð (ms)
+	private static final long STOP_WAIT = 100;
 	
 	// a timer for acquiring the video stream
 	//  ũ ϱ  Ÿ̸
 	private ScheduledExecutorService timer;
-	// the OpenCV object that performs the video capture
-	//  ĸĸ ϱ  OpenCV ü
-	private VideoCapture capture;
+	// the source of the frames: the camera, or a recording to replay
+	//  ޿: ī޶ Ǵ  ȭ
+	private FrameSource source;
+	// records the captured frames, if enabled
+	// ĸó   (Ȱȭ )
+	private volatile FrameRecorder recorder;
 	// a flag to change the button behavior
 	// ư   ÷
 	private boolean cameraActive;
+	// set by the frame grabber once the first frame was handed to the display
+	// ù  ǥÿ ѱ  ׷ 
+	private volatile boolean firstFrameReported;
 	
 	// face cascade classifier
 	//  cascade з
 	private CascadeClassifier faceCascade;
-	private int absoluteFaceSize;
+	// the detection applied to each frame
+	//  ӿ Ǵ 
+	private DetectionPipeline pipeline;
+	// draws the detections over the frames
+	//     ׸
+	private DetectionOverlay detectionOverlay;
+	// hides the faces in the frames shown (not in the recordings), if enabled
+	// ǥõǴ    (ȭ , Ȱȭ )
+	private FaceAnonymizer anonymizer;
+	// the detector used when several cascades are selected
+	//  ĳ̵尡 õǾ  ϴ 
+	private MultiCascadeDetector multiDetector;
 	
 	/**
 	 * Init the controller, at start time
@@ -79,9 +113,14 @@ public class FaceDetectionController
 	 */
 	protected void init()
 	{
-		this.capture = new VideoCapture();
+		this.source = createFrameSource();
 		this.faceCascade = new CascadeClassifier();
-		this.absoluteFaceSize = 0;
+		this.pipeline = new DetectionPipeline(FramePreprocessor.fromSystemProperties(),
+				FramePreprocessor.autoCalibrate());
+		this.pipeline.setFaceCascade(this.faceCascade);
+		this.pipeline.setCache(DetectionCache.fromSystemProperties());
+		this.detectionOverlay = new DetectionOverlay(this.overlay, this.originalFrame);
+		this.anonymizer = FaceAnonymizer.fromSystemProperties();
 		
 		// set a fixed width for the frame
 		// ӿ   
@@ -104,16 +143,38 @@ public class FaceDetectionController
 			//  ϴ  Ȯζ
 			this.haarClassifier.setDisable(true);
 			this.lbpClassifier.setDisable(true);
+			this.multiClassifier.setDisable(true);
+			
+			// the first frames must not pay for the cold detection path: wait
+			// for the warm-up off the FX thread, then start again
+			// ù      ġ ʵ : FX  ۿ ־ ٸ  ٽ 
+			if (!StartupLoader.isWarmedUp())
+			{
+				this.cameraButton.setDisable(true);
+				StartupLoader.afterWarmUp(() -> Platform.runLater(() -> {
+					this.cameraButton.setDisable(false);
+					this.startCamera();
+				}));
+				return;
+			}
 			
 			// start the video capture
 			//  ĸ 
-			this.capture.open(0);
+			long start = StartupTimer.begin();
+			this.source.open();
+			StartupTimer.end("camera open", start);
 			
 			// is the video stream available?
 			//  ũ   ֳ?
-			if (this.capture.isOpened())
+			if (this.source.isOpened())
 			{
 				this.cameraActive = true;
+				this.recorder = createFrameRecorder(this.anonymizer != null);
+				this.detectionOverlay.start();
+				if (this.anonymizer != null)
+					this.anonymizer.reset();
+				if (this.pipeline.getCache() != null)
+					this.pipeline.getCache().reset();
 				
 				// grab a frame every 33 ms (30 frames/sec)
 				// 33ms  ĸó(30/)
@@ -125,10 +186,21 @@ public class FaceDetectionController
 						// effectively grab and process a single frame
 						// ȿ   Ƽ ó
 						Mat frame = grabFrame();
+						// a dropped frame leaves the last frame shown
+						//    ǥõ  ״ 
+						if (frame.empty())
+							return;
 						// convert and show the frame
 						//  ȯ  ǥ
 						Image imageToShow = Utils.mat2Image(frame);
 						updateImageView(originalFrame, imageToShow);
+						// report the startup once the first frame is shown
+						// ù  ǥõǸ   
+						if (!firstFrameReported)
+						{
+							firstFrameReported = true;
+							Platform.runLater(() -> firstFrameShown());
+						}
 					}
 				};
 				
@@ -158,6 +230,7 @@ public class FaceDetectionController
 			// з Ȯζ Ȱȭ
 			this.haarClassifier.setDisable(false);
 			this.lbpClassifier.setDisable(false);
+			this.multiClassifier.setDisable(false);
 			
 			// stop the timer
 			// Ÿ̸ 
@@ -177,13 +250,13 @@ public class FaceDetectionController
 		
 		// check if the capture is open
 		// ĸİ ִ Ȯ
-		if (this.capture.isOpened())
+		if (this.source.isOpened())
 		{
 			try
 			{
 				// read the current frame
 				//   б
-				this.capture.read(frame);
+				frame = this.source.read();
 				
 				// if the frame is not empty, process it
 				//    ó
@@ -191,7 +264,7 @@ public class FaceDetectionController
 				{
 					// face detection
 					//  ν
-					this.detectAndDisplay(frame);
+					frame = this.detectAndDisplay(frame);
 				}
 				
 			}
@@ -200,6 +273,13 @@ public class FaceDetectionController
 				// log the (full) error
 				//(ü)  
 				System.err.println("Exception during the image elaboration: " + e);
+				// the faces of a frame that failed may not be hidden: drop it
+				//     ʾ  Ƿ 
+				if (this.anonymizer != null)
+				{
+					frame.release();
+					frame = new Mat();
+				}
 			}
 		}
 		
@@ -212,38 +292,34 @@ public class FaceDetectionController
 	 * @param frame
 	 *            it looks for faces in this frame
 	 * @param frame ȿ  ãϴ.
+	 * @return the frame to show, in color
+	 * @return ǥ ÷ 
 	 */
-	private void detectAndDisplay(Mat frame)
+	private Mat detectAndDisplay(Mat frame)
 	{
-		MatOfRect faces = new MatOfRect();
-		Mat grayFrame = new Mat();	
-		// convert the frame in gray scale
-		//  ȸ ȯ
-		Imgproc.cvtColor(frame, grayFrame, Imgproc.COLOR_BGR2GRAY);
-		// equalize the frame histogram to improve the result
-		//  ׷ յȭϿ  Ŵ
-		Imgproc.equalizeHist(grayFrame, grayFrame);
+		// detect faces, on the luma plane when the camera delivers it
+		//   (ī޶ 縶  ϸ  鿡)
+		DetectionResult result = this.pipeline.detect(frame);
 		
-		// compute minimum face size (20% of the frame height, in our case)
-		// ּ ̽ ũ ( ,   20%)
-		if (this.absoluteFaceSize == 0)
-		{
-			int height = grayFrame.rows();
-			if (Math.round(height * 0.2f) > 0)
-			{
-				this.absoluteFaceSize = Math.round(height * 0.2f);
-			}
-		}
-		// detect faces
-		//  
-		this.faceCascade.detectMultiScale(grayFrame, faces, 1.1, 2, 0 | Objdetect.CASCADE_SCALE_IMAGE,
-				new Size(this.absoluteFaceSize, this.absoluteFaceSize), new Size());
-		// each rectangle in faces is a face: draw them!
-		//  ȿ ִ  簢 ̴ : ׷!
-		Rect[] facesArray = faces.toArray();
-		for (int i = 0; i < facesArray.length; i++)
-			Imgproc.rectangle(frame, facesArray[i].tl(), facesArray[i].br(), new Scalar(0, 255, 0), 3);
-			
+		// each rectangle in faces is a face: show them over the frame!
+		//  ȿ ִ  簢 ̴ :   ּ!
+		this.detectionOverlay.update(result, frame.cols(), frame.rows());
+		
+		// record the frame as captured (the luma plane in luma mode), which is
+		// what the replay reads back
+		// ĸó ״   (縶 忡 縶 ),  ٽ д Ͱ 
+		this.recordFrame(frame);
+		
+		// the color frame is only needed from here, for the display
+		// ÷  ǥø  ⼭͸ ʿ
+		Mat colorFrame = this.source.toColor(frame);
+		if (colorFrame != frame)
+			frame.release();
+		// hide the faces before the frame leaves the detection
+		//   ܰ踦    
+		if (this.anonymizer != null)
+			this.anonymizer.apply(colorFrame, result.getFaces());
+		return colorFrame;
 	}
 	
 	/**
@@ -259,8 +335,8 @@ public class FaceDetectionController
 		//  lpb üũ ڽ õǾ ִ Ȯϰ  Ͻʽÿ.
 		if (this.lbpClassifier.isSelected())
 			this.lbpClassifier.setSelected(false);
-		//  - ĳ̵  (Assertion failed (!empty())  ߻ϰ cascade ν .)
-		this.checkboxSelection("C:\\opencv\\sources\\data\\haarcascades\\haarcascade_frontalface_alt.xml");
+		this.multiClassifier.setSelected(false);
+		this.checkboxSelection(HAAR_CASCADE);
 		
 	}
 	
@@ -277,8 +353,45 @@ public class FaceDetectionController
 		// haar üũ ڽ õǾ ִ Ȯϰ  Ͻʽÿ.
 		if (this.haarClassifier.isSelected())
 			this.haarClassifier.setSelected(false);			
-		//  - ĳ̵  (Assertion failed (!empty())  ߻ϰ cascade ν .)
-		this.checkboxSelection("C:\\opencv\\sources\\data\\lbpcascades\\lbpcascade_frontalface.xml");
+		this.multiClassifier.setSelected(false);
+		this.checkboxSelection(LBP_CASCADE);
+	}
+	
+	/**
+	 * The action triggered by selecting the Multi Detector checkbox.
+	 * Multi Detector üũ ڽ ϸ Ǵ Դϴ.
+	 * It loads both the Haar and the LBP frontal face trained sets, which share
+	 * the image pyramid of each frame, and the eye trained set, used inside
+	 * the detected faces only.
+	 *   ̹ Ƕ̵带 ϴ Haar LBP   Ʈ, ׸   ȿ ϴ  Ʈ εմϴ.
+	 */
+	@FXML
+	protected void multiSelected(Event event)
+	{
+		// deselect the single classifiers
+		//  з  
+		this.haarClassifier.setSelected(false);
+		this.lbpClassifier.setSelected(false);
+		if (this.multiDetector != null)
+			this.multiDetector.shutdown();
+		this.multiDetector = null;
+		
+		if (this.multiClassifier.isSelected())
+		{
+			MultiCascadeDetector detector = new MultiCascadeDetector(1.1, 2);
+			detector.addPrimary("haar", StartupLoader.classifier(HAAR_CASCADE), 2);
+			detector.addPrimary("lbp", StartupLoader.classifier(LBP_CASCADE), 2);
+			detector.addSecondary("eyes", StartupLoader.classifier(EYE_CASCADE), 3);
+			// facedetection.multi.gating=true runs Haar only around the LBP candidates
+			// facedetection.multi.gating=true Haar LBP ĺ ֺ 
+			detector.setCandidateGating(Boolean.getBoolean("facedetection.multi.gating"));
+			this.multiDetector = detector;
+		}
+		this.pipeline.setMultiDetector(this.multiDetector);
+		
+		// the video capture can start only with a classifier
+		// зⰡ ־߸  ĸĸ   ֽϴ.
+		this.cameraButton.setDisable(!this.multiClassifier.isSelected());
 	}
 	
 	/**
@@ -290,9 +403,14 @@ public class FaceDetectionController
 	 */
 	private void checkboxSelection(String classifierPath)
 	{
-		// load the classifier(s)
-		// бޱ⸦ εϽʽÿ.
-		this.faceCascade.load(classifierPath);
+		// get the classifier(s), usually already loaded in the background
+		// бޱ⸦ ʽÿ ( ׶忡 ̹ ε).
+		this.faceCascade = StartupLoader.classifier(classifierPath);
+		this.pipeline.setFaceCascade(this.faceCascade);
+		if (this.multiDetector != null)
+			this.multiDetector.shutdown();
+		this.multiDetector = null;
+		this.pipeline.setMultiDetector(null);
 		
 		// now the video capture can start
 		//   ĸĸ   ֽϴ.
@@ -305,28 +423,169 @@ public class FaceDetectionController
 	 */
 	private void stopAcquisition()
 	{
+		// the source and the recorder, released once no frame uses them anymore
+		//  ̻     Ǵ ҽ ϱ
+		FrameRecorder recorder = this.recorder;
+		this.recorder = null;
+		Runnable release = () -> {
+			if (this.source.isOpened())
+			{
+				// release the camera
+				// ī޶ ϴ
+				this.source.release();
+			}
+			closeRecorder(recorder);
+		};
+		
 		if (this.timer!=null && !this.timer.isShutdown())
 		{
+			// the frame being processed may still use views into the buffers of
+			// the source (a replayed recording): release them on the timer
+			// thread, as its last task, and start again only after that
+			// ó   ҽ (  ȭ)  並    : Ÿ̸ 忡 
+			// ۾ ϰ,  Ŀ ٽ 
+			this.cameraButton.setDisable(true);
+			this.timer.execute(() -> {
+				release.run();
+				Platform.runLater(() -> this.cameraButton.setDisable(false));
+			});
 			try
 			{
-				// stop the timer
-				// Ÿ̸ 
+				// stop the timer, and wait a little for the frame being processed
+				// Ÿ̸   ó    ٸ
 				this.timer.shutdown();
-				this.timer.awaitTermination(33, TimeUnit.MILLISECONDS);
+				if (!this.timer.awaitTermination(STOP_WAIT, TimeUnit.MILLISECONDS))
+					System.err.println("The frame being processed is late, the source will be released after it...");
 			}
 			catch (InterruptedException e)
 			{
 				// log any exception
 				//   
-				System.err.println("Exception in stopping the frame capture, trying to release the camera now... " + e);
+				System.err.println("Exception in stopping the frame capture, the source will be released after the "
+						+ "frame being processed... " + e);
+				Thread.currentThread().interrupt();
+			}
+		}
+		else
+			release.run();
+		
+		this.detectionOverlay.stop();
+		this.detectionOverlay.clear();
+		if (this.pipeline.getCache() != null)
+			System.out.println(this.pipeline.getCache().report());
+	}
+	
+	/**
+	 * Create the source of the frames: the recording given by the
+	 * facedetection.replay system property, or the camera
+	 *  ޿ մϴ: facedetection.replay ý Ӽ  ȭ Ǵ ī޶
+	 *
+	 * @return the {@link FrameSource} to use
+	 */
+	private static FrameSource createFrameSource()
+	{
+		String replay = System.getProperty("facedetection.replay");
+		if (replay != null && !replay.isEmpty())
+		{
+			boolean realTime = Boolean.parseBoolean(System.getProperty("facedetection.replay.realtime", "true"));
+			boolean loop = Boolean.getBoolean("facedetection.replay.loop");
+			return new ReplayFrameSource(new File(replay), realTime, loop);
+		}
+		// facedetection.capture=luma reads the luma plane from the camera
+		// facedetection.capture=luma ī޶󿡼 縶  
+		return new CameraFrameSource(0, "luma".equalsIgnoreCase(System.getProperty("facedetection.capture")));
+	}
+	
+	/**
+	 * Create a recorder in a new directory under the one given by the
+	 * facedetection.record system property, if any
+	 * facedetection.record ý Ӽ  丮 Ʒ  丮 ȭ⸦ մϴ ( ).
+	 * The recordings hold the frames as captured, with the faces unmasked: with
+	 * the anonymization on, nothing is recorded unless the system property
+	 * facedetection.record.raw is true.
+	 * ȭ ĸó ״     ä ϴ: ͸ȭ   ý Ӽ
+	 * facedetection.record.raw true ƴ  ƹ͵  ʽϴ.
+	 *
+	 * @param anonymizing
+	 *            true if the faces are hidden in the frames shown
+	 * @return the {@link FrameRecorder}, or null if the recording is disabled
+	 */
+	private static FrameRecorder createFrameRecorder(boolean anonymizing)
+	{
+		String record = System.getProperty("facedetection.record");
+		if (record == null || record.isEmpty())
+			return null;
+		if (anonymizing)
+		{
+			if (!Boolean.getBoolean("facedetection.record.raw"))
+			{
+				System.err.println("Recording disabled: the recordings hold the faces unmasked and facedetection.anonymize "
+						+ "is set (facedetection.record.raw=true records them anyway)");
+				return null;
 			}
+			System.err.println("WARNING: facedetection.record.raw is set, the recording holds the faces UNMASKED");
 		}
 		
-		if (this.capture.isOpened())
+		File directory = new File(record, new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+		long segmentSize = Long.getLong("facedetection.record.segment", FrameRecorder.DEFAULT_SEGMENT_SIZE);
+		try
+		{
+			System.out.println("Recording the frames in " + directory);
+			return new FrameRecorder(directory, segmentSize);
+		}
+		catch (IOException e)
 		{
-			// release the camera
-			// ī޶ ϴ
-			this.capture.release();
+			System.err.println("Cannot record the frames: " + e);
+			return null;
+		}
+	}
+	
+	/**
+	 * Append a captured frame to the recording, if enabled
+	 * ĸó  ȭ ߰մϴ (Ȱȭ ).
+	 *
+	 * @param frame
+	 *            the frame as captured
+	 */
+	private void recordFrame(Mat frame)
+	{
+		FrameRecorder recorder = this.recorder;
+		if (recorder == null)
+			return;
+		
+		try
+		{
+			recorder.record(frame, this.source.getTimestamp());
+		}
+		catch (IOException e)
+		{
+			// stop recording, but keep the detection running
+			//    
+			System.err.println("Exception while recording the frame, recording stopped: " + e);
+			this.recorder = null;
+			closeRecorder(recorder);
+		}
+	}
+	
+	/**
+	 * Close a recording, if any
+	 * ȭ ݽϴ (ִ ).
+	 *
+	 * @param recorder
+	 *            the recording, or null
+	 */
+	private static void closeRecorder(FrameRecorder recorder)
+	{
+		if (recorder == null)
+			return;
+		
+		try
+		{
+			recorder.close();
+		}
+		catch (IOException e)
+		{
+			System.err.println("Exception while closing the recording: " + e);
 		}
 	}
 	
@@ -345,6 +604,58 @@ public class FaceDetectionController
 		Utils.onFXThread(view.imageProperty(), image);
 	}
 	
+	/**
+	 * Start the camera with a classifier without waiting for the user, e.g.,
+	 * on a kiosk (the system property facedetection.autostart: haar, lbp or
+	 * multi)
+	 * ڸ ٸ ʰ з ī޶ մϴ (: Űũ, ý Ӽ
+	 * facedetection.autostart: haar, lbp Ǵ multi).
+	 */
+	protected void autoStart()
+	{
+		String classifier = System.getProperty("facedetection.autostart");
+		if (classifier == null || classifier.isEmpty())
+			return;
+		if ("haar".equals(classifier))
+		{
+			this.haarClassifier.setSelected(true);
+			this.haarSelected(null);
+		}
+		else if ("lbp".equals(classifier))
+		{
+			this.lbpClassifier.setSelected(true);
+			this.lbpSelected(null);
+		}
+		else if ("multi".equals(classifier))
+		{
+			this.multiClassifier.setSelected(true);
+			this.multiSelected(null);
+		}
+		else
+		{
+			System.err.println("Unknown classifier to start with: " + classifier);
+			return;
+		}
+		this.startCamera();
+	}
+	
+	/**
+	 * Print the startup timing once the first frame is shown, and exit if
+	 * only the startup was wanted (the system property
+	 * facedetection.startup.exit, e.g., to record the class list of a CDS
+	 * archive)
+	 * ù  ǥõǸ  ð ϰ, ۸ ʿ  մϴ (ý Ӽ
+	 * facedetection.startup.exit, : CDS ī̺ Ŭ  ).
+	 */
+	private void firstFrameShown()
+	{
+		if (StartupTimer.firstFrame() && Boolean.getBoolean("facedetection.startup.exit"))
+		{
+			this.setClosed();
+			Platform.exit();
+		}
+	}
+	
 	/**
 	 * On application close, stop the acquisition from the camera
 	 * ø̼   ī޶󿡼  մϴ.
@@ -352,6 +663,10 @@ public class FaceDetectionController
 	protected void setClosed()
 	{
 		this.stopAcquisition();
+		if (this.multiDetector != null)
+			this.multiDetector.shutdown();
+		if (this.anonymizer != null)
+			this.anonymizer.shutdown();
 	}
 	
 }
\ No newline at end of file
@@ -0,0 +1,249 @@
+package application;
+
+import java.util.Arrays;
+
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * Prepare a captured frame for the face detection: gray scale conversion,
+ * optional integer factor downscale and histogram equalization.
+ * ĸó   ⿡ ° غմϴ: ȸ ȯ,      ׷ Ȱȭ.
+ * The same steps can be executed by OpenCV (one JNI call and one native
+ * allocation per step) or by the pure Java {@link GrayKernels} on reusable
+ * buffers (one copy in and one copy out per frame); both paths produce the
+ * same pixels, so the faster one can be chosen per platform.
+ *  ܰ踦 OpenCV(ܰ踶 JNI ȣ Ƽ Ҵ  ) Ǵ     Java {@link GrayKernels}
+ * (Ӹ   )   ,     ȼ   ÷      ֽϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class FramePreprocessor
+{
+	/**
+	 * The implementation used for the preprocessing steps
+	 * ó ܰ迡 Ǵ 
+	 */
+	public enum Mode
+	{
+		OPENCV, JAVA
+	}
+
+	private Mode mode;
+	// the integer factor used to shrink the frame before the detection
+	//    ϴ  
+	private final int downscale;
+
+	// reusable buffers for the Java path
+	// Java θ   
+	private byte[] colorPixels = new byte[0];
+	private byte[] grayPixels = new byte[0];
+	private byte[] smallPixels = new byte[0];
+	private final int[] histogram = new int[4 * 256];
+	private final byte[] lut = new byte[256];
+	// reusable intermediate image for the OpenCV path
+	// OpenCV θ   ߰ ̹
+	private final Mat fullGray = new Mat();
+
+	/**
+	 * Create a preprocessor
+	 * ó⸦ մϴ.
+	 *
+	 * @param mode
+	 *            the implementation to use
+	 * @param downscale
+	 *            the integer factor used to shrink the frame (1 to keep the
+	 *            full resolution)
+	 */
+	public FramePreprocessor(Mode mode, int downscale)
+	{
+		this.mode = mode;
+		this.downscale = Math.max(1, downscale);
+	}
+
+	/**
+	 * Convert, shrink and equalize a frame
+	 *  ȯ,   Ȱȭմϴ.
+	 *
+	 * @param frame
+	 *            the captured frame, in BGR or gray scale
+	 * @param grayFrame
+	 *            the {@link Mat} where the equalized gray frame is written; it
+	 *            is (re)allocated only when the frame size changes
+	 */
+	public void process(Mat frame, Mat grayFrame)
+	{
+		if (this.mode == Mode.JAVA)
+			this.processJava(frame, grayFrame);
+		else
+			this.processOpenCV(frame, grayFrame);
+	}
+
+	/**
+	 * The OpenCV implementation of {@link #process(Mat, Mat)}
+	 * {@link #process(Mat, Mat)} OpenCV 
+	 */
+	private void processOpenCV(Mat frame, Mat grayFrame)
+	{
+		// a gray frame (the luma plane) is read in place, without a copy
+		// ȸ  (縶 )   ״ 
+		Mat gray = frame;
+		if (frame.channels() > 1)
+		{
+			gray = this.downscale > 1 ? this.fullGray : grayFrame;
+			Imgproc.cvtColor(frame, gray, Imgproc.COLOR_BGR2GRAY);
+		}
+
+		if (this.downscale > 1)
+		{
+			// crop to a multiple of the factor, so that each output pixel is
+			// the mean of a full block (as the Java path does)
+			//   ȼ    ǵ   ڸϴ. (Java ο )
+			int width = gray.cols() / this.downscale, height = gray.rows() / this.downscale;
+			Mat cropped = gray.submat(0, height * this.downscale, 0, width * this.downscale);
+			Imgproc.resize(cropped, grayFrame, new Size(width, height), 0, 0, Imgproc.INTER_AREA);
+			cropped.release();
+			gray = grayFrame;
+		}
+
+		Imgproc.equalizeHist(gray, grayFrame);
+	}
+
+	/**
+	 * The pure Java implementation of {@link #process(Mat, Mat)}
+	 * {@link #process(Mat, Mat)}  Java 
+	 */
+	private void processJava(Mat frame, Mat grayFrame)
+	{
+		int width = frame.cols(), height = frame.rows(), pixels = width * height;
+		this.grayPixels = ensureSize(this.grayPixels, pixels);
+		if (frame.channels() > 1)
+		{
+			this.colorPixels = ensureSize(this.colorPixels, pixels * frame.channels());
+			frame.get(0, 0, this.colorPixels);
+			GrayKernels.bgrToGray(this.colorPixels, this.grayPixels, pixels);
+		}
+		else
+		{
+			frame.get(0, 0, this.grayPixels);
+		}
+
+		byte[] gray = this.grayPixels;
+		if (this.downscale > 1)
+		{
+			int smallWidth = width / this.downscale, smallHeight = height / this.downscale;
+			this.smallPixels = ensureSize(this.smallPixels, smallWidth * smallHeight);
+			GrayKernels.downscale(this.grayPixels, width, height, this.downscale, this.smallPixels);
+			gray = this.smallPixels;
+			width = smallWidth;
+			height = smallHeight;
+		}
+
+		GrayKernels.equalizeHist(gray, gray, width * height, this.histogram, this.lut);
+		grayFrame.create(height, width, CvType.CV_8UC1);
+		grayFrame.put(0, 0, gray);
+	}
+
+	/**
+	 * Time both implementations on a sample frame and switch to the faster
+	 * one; the Java path is chosen only if it produces the same pixels
+	 *     ð ϰ    ȯմϴ.
+	 * Java δ  ȼ   õ˴ϴ.
+	 *
+	 * @param sample
+	 *            a frame representative of the stream
+	 * @param iterations
+	 *            the number of timed runs for each implementation
+	 * @return the selected {@link Mode}
+	 */
+	public Mode calibrate(Mat sample, int iterations)
+	{
+		Mat reference = new Mat(), candidate = new Mat();
+		long[] elapsed = new long[Mode.values().length];
+		for (Mode m : Mode.values())
+		{
+			this.mode = m;
+			Mat output = m == Mode.OPENCV ? reference : candidate;
+			// warm up before timing
+			// ð   ־
+			for (int i = 0; i < iterations; i++)
+				this.process(sample, output);
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++)
+				this.process(sample, output);
+			elapsed[m.ordinal()] = System.nanoTime() - start;
+		}
+
+		boolean exact = sameContent(reference, candidate);
+		this.mode = exact && elapsed[Mode.JAVA.ordinal()] < elapsed[Mode.OPENCV.ordinal()] ? Mode.JAVA : Mode.OPENCV;
+		reference.release();
+		candidate.release();
+		return this.mode;
+	}
+
+	/**
+	 * Compare two 8-bit images pixel by pixel
+	 *  8Ʈ ̹ ȼ  մϴ.
+	 *
+	 * @param a
+	 *            the first image
+	 * @param b
+	 *            the second image
+	 * @return true if the images have the same size and content
+	 */
+	public static boolean sameContent(Mat a, Mat b)
+	{
+		if (a.rows() != b.rows() || a.cols() != b.cols() || a.type() != b.type())
+			return false;
+		byte[] pixelsA = new byte[(int) (a.total() * a.channels())];
+		byte[] pixelsB = new byte[pixelsA.length];
+		a.get(0, 0, pixelsA);
+		b.get(0, 0, pixelsB);
+		return Arrays.equals(pixelsA, pixelsB);
+	}
+
+	/**
+	 * Build a preprocessor from the <code>facedetection.preprocess</code>
+	 * (<code>opencv</code>, <code>java</code> or <code>auto</code>) and
+	 * <code>facedetection.downscale</code> system properties
+	 * <code>facedetection.preprocess</code>(<code>opencv</code>, <code>java</code>, <code>auto</code>)
+	 * <code>facedetection.downscale</code> ý Ӽ ó⸦ մϴ.
+	 *
+	 * @return the configured preprocessor
+	 */
+	public static FramePreprocessor fromSystemProperties()
+	{
+		String mode = System.getProperty("facedetection.preprocess", "opencv");
+		int downscale = Integer.getInteger("facedetection.downscale", 1);
+		return new FramePreprocessor("java".equalsIgnoreCase(mode) ? Mode.JAVA : Mode.OPENCV, downscale);
+	}
+
+	/**
+	 * @return true if the <code>facedetection.preprocess</code> system property
+	 *         asks to calibrate the implementation on the first frame
+	 * @return <code>facedetection.preprocess</code> ý Ӽ ù ӿ  ϵ ûϸ true
+	 */
+	public static boolean autoCalibrate()
+	{
+		return "auto".equalsIgnoreCase(System.getProperty("facedetection.preprocess"));
+	}
+
+	public Mode getMode()
+	{
+		return this.mode;
+	}
+
+	public int getDownscale()
+	{
+		return this.downscale;
+	}
+
+	private static byte[] ensureSize(byte[] buffer, int size)
+	{
+		return buffer.length == size ? buffer : new byte[size];
+	}
+}
\ No newline at end of file
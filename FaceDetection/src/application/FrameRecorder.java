@@ -0,0 +1,231 @@
+package application;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Locale;
+
+import org.opencv.core.Mat;
+
+/**
+ * Record the raw captured frames, with their capture time, in a directory of
+ * memory-mapped segment files that {@link ReplayFrameSource} can play back.
+ * ĸó   ĸó ð Բ ޸ ε ׸Ʈ  丮 ϸ,
+ * {@link ReplayFrameSource}   ֽϴ.
+ * The pixels are not encoded: a frame costs a single copy into the mapped
+ * segment, and the replay serves exactly the bytes the camera delivered.
+ * ȼ ڵ ʽϴ: Ӹ ε ׸Ʈ    ̸,   ī޶  Ʈ ״ մϴ.
+ *
+ * <pre>
+ * segment  := header(64) frame* end
+ * header   := magic(int) version(int) start time(long, ms since the epoch) padding (64 bytes in all)
+ * frame    := rows(int) cols(int) type(int) 0(int) timestamp(long, ns since the first frame)
+ *             length(long) padding (64 bytes in all) pixels, padded to 64 bytes
+ * end      := rows = 0, or the end of the file
+ * </pre>
+ * All the numbers are little endian.
+ *  ڴ Ʋ Դϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class FrameRecorder implements Closeable
+{
+	// the layout of the segment files, shared with ReplayFrameSource
+	// ReplayFrameSource ϴ ׸Ʈ  
+	static final int MAGIC = 0x46524446;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 64;
+	static final int ALIGNMENT = 64;
+	static final String SEGMENT_PREFIX = "frames-";
+	static final String SEGMENT_SUFFIX = ".seg";
+	/**
+	 * The default size of a segment file (256 MB)
+	 * ׸Ʈ  ⺻ ũ (256 MB)
+	 */
+	public static final long DEFAULT_SEGMENT_SIZE = 256L << 20;
+
+	// the directory of the recording
+	// ȭ 丮
+	private final File directory;
+	private final long segmentSize;
+	// the segment being written
+	//   ׸Ʈ
+	private RandomAccessFile segmentFile;
+	private MappedByteBuffer segment;
+	private int segmentIndex;
+	// the capture time of the first frame
+	// ù  ĸó ð
+	private long firstTimestamp = -1;
+	private long frames;
+	private boolean closed;
+
+	/**
+	 * Create a recorder
+	 * ȭ⸦ մϴ.
+	 *
+	 * @param directory
+	 *            the directory of the recording (created if needed)
+	 * @param segmentSize
+	 *            the size of each segment file
+	 * @throws IOException
+	 *             if the directory cannot be created
+	 */
+	public FrameRecorder(File directory, long segmentSize) throws IOException
+	{
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("Failed to create the recording directory " + directory);
+		this.directory = directory;
+		this.segmentSize = Math.min(segmentSize, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Append a frame to the recording
+	 * ȭ  ߰մϴ.
+	 *
+	 * @param frame
+	 *            the captured frame (empty frames are skipped)
+	 * @param timestamp
+	 *            the capture time, in nanoseconds
+	 * @throws IOException
+	 *             if a new segment cannot be created
+	 */
+	public synchronized void record(Mat frame, long timestamp) throws IOException
+	{
+		if (this.closed)
+			throw new IOException("The recording is closed");
+		if (frame.empty())
+			return;
+
+		long length = frame.total() * frame.elemSize();
+		long needed = align(HEADER_SIZE + length);
+		if (this.segment == null || this.segment.remaining() < needed)
+			this.nextSegment(needed);
+		if (this.firstTimestamp < 0)
+			this.firstTimestamp = timestamp;
+
+		// frame header
+		//  
+		int position = this.segment.position();
+		this.segment.putInt(frame.rows()).putInt(frame.cols()).putInt(frame.type()).putInt(0);
+		this.segment.putLong(timestamp - this.firstTimestamp).putLong(length);
+
+		// copy the pixels straight into the mapped segment
+		// ȼ ε ׸Ʈ  
+		ByteBuffer pixels = slice(this.segment, position + HEADER_SIZE, (int) length);
+		Mat target = new Mat(frame.rows(), frame.cols(), frame.type(), pixels);
+		frame.copyTo(target);
+		target.release();
+
+		this.segment.position(position + (int) needed);
+		this.frames++;
+	}
+
+	/**
+	 * @return the number of recorded frames
+	 * @return ϵ  
+	 */
+	public synchronized long getFrameCount()
+	{
+		return this.frames;
+	}
+
+	/**
+	 * Close the current segment and map a new one
+	 *  ׸Ʈ ݰ  ׸Ʈ մϴ.
+	 *
+	 * @param needed
+	 *            the space needed by the next frame
+	 * @throws IOException
+	 *             if the segment cannot be created
+	 */
+	private void nextSegment(long needed) throws IOException
+	{
+		this.closeSegment();
+
+		long size = Math.max(this.segmentSize, HEADER_SIZE + needed + ALIGNMENT);
+		if (size > Integer.MAX_VALUE)
+			throw new IOException("The frame is too large for a segment: " + needed + " bytes");
+
+		File file = new File(this.directory, segmentName(this.segmentIndex++));
+		this.segmentFile = new RandomAccessFile(file, "rw");
+		this.segment = this.segmentFile.getChannel().map(MapMode.READ_WRITE, 0, size);
+		this.segment.order(ByteOrder.LITTLE_ENDIAN);
+		this.segment.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis());
+		this.segment.position(HEADER_SIZE);
+	}
+
+	/**
+	 * Close the current segment and trim its unused space
+	 *  ׸Ʈ ݰ    ߶ϴ.
+	 * The segment is not forced to the disk: that would stall the capture
+	 * thread for the whole segment, and the page cache writes the pages back
+	 * even after the process exits.
+	 * ׸Ʈ ũ   ʽϴ: ĸó 尡 ׸Ʈ üŭ ߰ Ǹ,  ĳô μ
+	 *  Ŀ  մϴ.
+	 */
+	private void closeSegment() throws IOException
+	{
+		if (this.segment == null)
+			return;
+
+		int used = this.segment.position();
+		this.segment = null;
+		try
+		{
+			// some platforms do not allow to shrink a mapped file: the zeroed
+			// tail then works as end marker
+			// Ϻ ÷ ε    ϴ:   0 ä ޺κ  ǥð ˴ϴ.
+			this.segmentFile.setLength(used);
+		}
+		catch (IOException e)
+		{
+			// keep the full segment
+			// ü ׸Ʈ 
+		}
+		finally
+		{
+			this.segmentFile.close();
+			this.segmentFile = null;
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException
+	{
+		this.closed = true;
+		this.closeSegment();
+	}
+
+	/**
+	 * @return the name of the segment file with the given index
+	 * @return ־ ȣ ׸Ʈ  ̸
+	 */
+	static String segmentName(int index)
+	{
+		return String.format(Locale.ROOT, "%s%05d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+	}
+
+	/**
+	 * @return a view of length bytes of the buffer, starting at offset
+	 * @return offset ϴ length Ʈ  
+	 */
+	static ByteBuffer slice(ByteBuffer buffer, int offset, int length)
+	{
+		ByteBuffer view = buffer.duplicate();
+		view.limit(offset + length);
+		view.position(offset);
+		return view.slice();
+	}
+
+	static long align(long size)
+	{
+		return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package application;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.Locale;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.objdetect.CascadeClassifier;
+
+/**
+ * Run the face detection over a recording made with {@link FrameRecorder} and
+ * print the faces found in every frame, so that two builds can be compared
+ * frame for frame on the same input.
+ * {@link FrameRecorder}  ȭ   ϰ  ӿ ã  Ͽ,
+ *  Է¿   带     ְ մϴ.
+ *
+ * <pre>
+ * FrameReplay &lt;recording&gt; [--cascade file] [--realtime] [--out file]
+ * </pre>
+ *
+ * Each line is "frame timestamp(ms) count x,y,w,h ...", the throughput is
+ * printed on the error stream at the end.
+ *   " Ÿӽ(ms)  x,y,w,h ..." ̸, ó   Ʈ µ˴ϴ.
+ * With a {@link DetectionCache} (see its system properties), its hit rate and
+ * accuracy are printed there too.
+ * {@link DetectionCache} ϸ (ý Ӽ ) ߷ Ȯ Բ µ˴ϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class FrameReplay
+{
+	public static void main(String[] args)
+	{
+		if (args.length < 1)
+		{
+			System.err.println("Usage: FrameReplay <recording> [--cascade file] [--realtime] [--out file]");
+			System.exit(2);
+		}
+
+		File recording = new File(args[0]);
+		String cascadePath = "C:\\opencv\\sources\\data\\haarcascades\\haarcascade_frontalface_alt.xml";
+		boolean realTime = false;
+		String out = null;
+		for (int i = 1; i < args.length; i++)
+		{
+			if ("--cascade".equals(args[i]) && i + 1 < args.length)
+				cascadePath = args[++i];
+			else if ("--realtime".equals(args[i]))
+				realTime = true;
+			else if ("--out".equals(args[i]) && i + 1 < args.length)
+				out = args[++i];
+			else
+				System.err.println("Ignoring unknown argument " + args[i]);
+		}
+
+		// load the native OpenCV library
+		// Ƽ OpenCV ̺귯 ε
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+
+		CascadeClassifier faceCascade = new CascadeClassifier(cascadePath);
+		if (faceCascade.empty())
+		{
+			System.err.println("Cannot load the cascade " + cascadePath);
+			System.exit(1);
+		}
+
+		PrintStream output = System.out;
+		if (out != null)
+		{
+			try
+			{
+				output = new PrintStream(out);
+			}
+			catch (FileNotFoundException e)
+			{
+				System.err.println("Cannot write " + out + ": " + e);
+				System.exit(1);
+			}
+		}
+
+		FrameSource source = new ReplayFrameSource(recording, realTime, false);
+		if (!source.open())
+			System.exit(1);
+
+		// the same processing as the controller
+		// Ʈѷ  ó
+		DetectionPipeline pipeline = new DetectionPipeline(FramePreprocessor.fromSystemProperties(), false);
+		pipeline.setFaceCascade(faceCascade);
+		pipeline.setCache(DetectionCache.fromSystemProperties());
+		long frames = 0;
+		long start = System.nanoTime();
+		for (Mat frame = source.read(); !frame.empty(); frame = source.read())
+		{
+			Rect[] facesArray = pipeline.detect(frame).getFaces();
+			StringBuilder line = new StringBuilder();
+			line.append(frames).append(' ')
+					.append(String.format(Locale.ROOT, "%.3f", source.getTimestamp() / 1e6)).append(' ')
+					.append(facesArray.length);
+			for (Rect face : facesArray)
+				line.append(' ').append(face.x).append(',').append(face.y).append(',').append(face.width).append(',')
+						.append(face.height);
+			output.println(line);
+
+			frame.release();
+			frames++;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		if (pipeline.getCache() != null)
+			System.err.println(pipeline.getCache().report());
+		source.release();
+		pipeline.release();
+		if (output != System.out)
+			output.close();
+
+		System.err.println(String.format(Locale.ROOT, "%d frames in %.2f s (%.1f frames/s)", frames, seconds,
+				frames / Math.max(seconds, 1e-9)));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package application;
+
+import org.opencv.core.Mat;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * A source of video frames for the face detection: a camera, a recording to
+ * replay, a synthetic generator, ...
+ *      ޿Դϴ: ī޶,  ȭ, ռ  
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public interface FrameSource
+{
+	/**
+	 * Open the source
+	 * ޿ ϴ.
+	 *
+	 * @return true if frames can be read
+	 */
+	boolean open();
+
+	/**
+	 * @return true if the source is open
+	 * @return ޿   true
+	 */
+	boolean isOpened();
+
+	/**
+	 * Read the next frame.
+	 *   нϴ.
+	 * The returned {@link Mat} belongs to the caller, but it may share its
+	 * pixels with the source (e.g., a memory-mapped recording): it must not be
+	 * used after {@link #release()}.
+	 * ȯ {@link Mat} ȣ  ޿ ȼ   Ƿ (: ޸ ε ȭ)
+	 * {@link #release()} Ŀ ϸ  ˴ϴ.
+	 *
+	 * @return the frame, empty if no frame is available
+	 */
+	Mat read();
+
+	/**
+	 * Convert a frame returned by {@link #read()} to BGR, for display or
+	 * recording, before the next read.
+	 * {@link #read()} ȯ  ǥ Ǵ    б  BGR ȯմϴ.
+	 * Sources that read gray frames only convert them when this is called;
+	 * a BGR frame is returned as it is.
+	 * ȸ  д ޿  ޼ҵ尡 ȣ  ȯϸ, BGR  ״ ȯ˴ϴ.
+	 *
+	 * @param frame
+	 *            the last frame read
+	 * @return the frame in BGR, a new {@link Mat} if it was converted
+	 */
+	default Mat toColor(Mat frame)
+	{
+		if (frame.channels() != 1)
+			return frame;
+		Mat color = new Mat();
+		Imgproc.cvtColor(frame, color, Imgproc.COLOR_GRAY2BGR);
+		return color;
+	}
+
+	/**
+	 * @return the capture time of the last frame read, in nanoseconds (on the
+	 *         {@link System#nanoTime()} scale for live sources)
+	 * @return    ĸó ð (, ǽð ޿ {@link System#nanoTime()} )
+	 */
+	long getTimestamp();
+
+	/**
+	 * Close the source and release its resources
+	 * ޿ ݰ ҽ մϴ.
+	 */
+	void release();
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package application;
+
+import java.util.Arrays;
+
+/**
+ * Pure Java versions of the preprocessing steps applied to every frame before
+ * the face detection: BGR to gray conversion, integer factor downscale and
+ * histogram equalization.
+ *     ӿ Ǵ ó ܰ  Java Դϴ:
+ * BGR ȸ ȯ,     ׷ Ȱȭ.
+ * They work on caller-owned <code>byte[]</code> buffers, so they can be used
+ * in tight loops without crossing JNI or allocating, and they reproduce the
+ * OpenCV results bit by bit (see {@link PreprocessorBenchmark}).
+ * ȣڰ  <code>byte[]</code> ۿ ϹǷ JNI ȣ̳ Ҵ  ݺ   ,
+ * OpenCV  Ʈ  Ȱ մϴ. ({@link PreprocessorBenchmark} )
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public final class GrayKernels
+{
+	// fixed point BGR to gray coefficients, the same used by OpenCV
+	// OpenCV   Ҽ BGR->ȸ 
+	private static final int GRAY_SHIFT = 14;
+	private static final int B2Y = 1868;
+	private static final int G2Y = 9617;
+	private static final int R2Y = 4899;
+	private static final int GRAY_ROUND = 1 << (GRAY_SHIFT - 1);
+
+	private GrayKernels()
+	{
+	}
+
+	/**
+	 * Convert a BGR image in gray scale, as
+	 * <code>Imgproc.cvtColor(src, dst, Imgproc.COLOR_BGR2GRAY)</code>
+	 * BGR ̹ <code>Imgproc.cvtColor(src, dst, Imgproc.COLOR_BGR2GRAY)</code>  ȸ ȯմϴ.
+	 *
+	 * @param bgr
+	 *            the interleaved BGR pixels (3 * pixels bytes)
+	 * @param gray
+	 *            the gray pixels to write
+	 * @param pixels
+	 *            the number of pixels to convert
+	 */
+	public static void bgrToGray(byte[] bgr, byte[] gray, int pixels)
+	{
+		for (int i = 0, j = 0; i < pixels; i++, j += 3)
+		{
+			int b = bgr[j] & 0xFF;
+			int g = bgr[j + 1] & 0xFF;
+			int r = bgr[j + 2] & 0xFF;
+			gray[i] = (byte) ((b * B2Y + g * G2Y + r * R2Y + GRAY_ROUND) >> GRAY_SHIFT);
+		}
+	}
+
+	/**
+	 * Shrink a gray image by an integer factor averaging each block of pixels,
+	 * as <code>Imgproc.resize(..., Imgproc.INTER_AREA)</code>. Rows and columns
+	 * beyond the last full block are ignored.
+	 *  ȼ   ȸ ̹  ŭ մϴ.
+	 * <code>Imgproc.resize(..., Imgproc.INTER_AREA)</code> ,    Ѵ   õ˴ϴ.
+	 *
+	 * @param src
+	 *            the source gray pixels
+	 * @param width
+	 *            the source width
+	 * @param height
+	 *            the source height
+	 * @param factor
+	 *            the downscale factor (at least 1)
+	 * @param dst
+	 *            the destination pixels, (width / factor) * (height / factor)
+	 *            bytes
+	 */
+	public static void downscale(byte[] src, int width, int height, int factor, byte[] dst)
+	{
+		int dstWidth = width / factor, dstHeight = height / factor;
+		if (factor == 1)
+		{
+			System.arraycopy(src, 0, dst, 0, width * height);
+			return;
+		}
+
+		if (factor == 2)
+		{
+			// OpenCV rounds the 2x2 average with (sum + 2) >> 2
+			// OpenCV 2x2  (sum + 2) >> 2 ݿøմϴ.
+			for (int y = 0; y < dstHeight; y++)
+			{
+				int row0 = 2 * y * width, row1 = row0 + width, out = y * dstWidth;
+				for (int x = 0; x < dstWidth; x++, row0 += 2, row1 += 2)
+				{
+					int sum = (src[row0] & 0xFF) + (src[row0 + 1] & 0xFF) + (src[row1] & 0xFF) + (src[row1 + 1] & 0xFF);
+					dst[out + x] = (byte) ((sum + 2) >> 2);
+				}
+			}
+			return;
+		}
+
+		// for the other factors OpenCV multiplies the block sum by a float
+		// 1 / area and rounds half to even
+		// ٸ  OpenCV  տ float 1 / area ϰ ¦  ݿøմϴ.
+		float scale = 1.f / (factor * factor);
+		int[] sums = new int[dstWidth];
+		for (int y = 0; y < dstHeight; y++)
+		{
+			Arrays.fill(sums, 0);
+			for (int row = y * factor * width, end = row + factor * width; row < end; row += width)
+			{
+				for (int x = 0, col = row; x < dstWidth; x++)
+				{
+					int sum = 0;
+					for (int k = 0; k < factor; k++, col++)
+						sum += src[col] & 0xFF;
+					sums[x] += sum;
+				}
+			}
+			for (int x = 0, out = y * dstWidth; x < dstWidth; x++)
+				dst[out + x] = (byte) Math.rint(sums[x] * scale);
+		}
+	}
+
+	/**
+	 * Equalize the histogram of a gray image, as
+	 * <code>Imgproc.equalizeHist(src, dst)</code>
+	 * <code>Imgproc.equalizeHist(src, dst)</code>  ȸ ̹ ׷ Ȱȭմϴ.
+	 *
+	 * @param src
+	 *            the source gray pixels
+	 * @param dst
+	 *            the destination pixels (it can be the same array as src)
+	 * @param length
+	 *            the number of pixels
+	 * @param histogram
+	 *            a scratch array of (at least) 4 * 256 elements
+	 * @param lut
+	 *            a scratch array of (at least) 256 elements
+	 */
+	public static void equalizeHist(byte[] src, byte[] dst, int length, int[] histogram, byte[] lut)
+	{
+		// count on four interleaved histograms, so that runs of the same gray
+		// level do not serialize on a single counter
+		//  ȸ  ӵ  ϳ īͿ  ʵ   ׷  ϴ.
+		Arrays.fill(histogram, 0, 4 * 256, 0);
+		int i = 0;
+		for (; i + 3 < length; i += 4)
+		{
+			histogram[src[i] & 0xFF]++;
+			histogram[256 + (src[i + 1] & 0xFF)]++;
+			histogram[512 + (src[i + 2] & 0xFF)]++;
+			histogram[768 + (src[i + 3] & 0xFF)]++;
+		}
+		for (; i < length; i++)
+			histogram[src[i] & 0xFF]++;
+		for (i = 0; i < 256; i++)
+			histogram[i] += histogram[256 + i] + histogram[512 + i] + histogram[768 + i];
+
+		// find the first used gray level
+		// ó  ȸ  ã
+		int first = 0;
+		while (first < 255 && histogram[first] == 0)
+			first++;
+
+		if (histogram[first] == length)
+		{
+			// a flat image stays as it is
+			// ܻ ̹ ״ ˴ϴ.
+			Arrays.fill(dst, 0, length, (byte) first);
+			return;
+		}
+
+		// build the cumulative lookup table with the OpenCV float arithmetic
+		// OpenCV float    ̺ 
+		float scale = (256 - 1.f) / (length - histogram[first]);
+		int sum = 0;
+		for (i = 0; i <= first; i++)
+			lut[i] = 0;
+		for (i = first + 1; i < 256; i++)
+		{
+			sum += histogram[i];
+			lut[i] = (byte) Math.min(255, (int) Math.rint(sum * scale));
+		}
+
+		for (i = 0; i < length; i++)
+			dst[i] = lut[src[i] & 0xFF];
+	}
+}
\ No newline at end of file
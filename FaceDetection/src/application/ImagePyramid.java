@@ -0,0 +1,173 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * The scaled copies of an (equalized, gray) frame used by the cascade
+ * classifiers to look for objects of different sizes.
+ * ĳ̵ зⰡ پ ũ ü ã  ϴ (Ȱȭ ȸ)   纻Դϴ.
+ * The levels follow the same scales of
+ * <code>CascadeClassifier.detectMultiScale</code> (factor, factor^2, ...),
+ * so they can be built once per frame and shared by several cascades. The
+ * level {@link Mat}s are kept and reused from one frame to the next.
+ *   <code>CascadeClassifier.detectMultiScale</code>  (factor, factor^2, ...) Ƿ
+ * Ӹ     ĳ̵尡   ֽϴ.  {@link Mat}  ӿ ˴ϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class ImagePyramid
+{
+	// the ratio between two consecutive levels
+	// ӵ    
+	private final double scaleFactor;
+	// the levels built for the current frame and their scale factors
+	//  ӿ    
+	private final List<Mat> levels = new ArrayList<>();
+	private final List<Double> factors = new ArrayList<>();
+	private int size;
+
+	/**
+	 * Create an empty pyramid
+	 *  Ƕ̵带 մϴ.
+	 *
+	 * @param scaleFactor
+	 *            the ratio between two consecutive levels (e.g., 1.1)
+	 */
+	public ImagePyramid(double scaleFactor)
+	{
+		this.scaleFactor = scaleFactor;
+	}
+
+	/**
+	 * Build the levels of the given image, down to the smallest one that still
+	 * contains the given window
+	 * ־ â   ִ    ̹  ϴ.
+	 *
+	 * The scales below <code>minFactor</code> are skipped (they would only
+	 * find faces smaller than the minimum face size).
+	 * <code>minFactor</code>   ǳʶݴϴ. (ּ  ũ⺸  󱼸 ã )
+	 *
+	 * @param image
+	 *            the image to scale (it is used without copy for the factor 1)
+	 * @param minFactor
+	 *            the smallest factor needed by the cascades
+	 * @param minWindow
+	 *            the smallest detection window among the cascades that will use
+	 *            the pyramid
+	 */
+	public void build(Mat image, double minFactor, Size minWindow)
+	{
+		this.size = 0;
+		// allow for the rounding of the window size (cvRound(window * factor))
+		// â ũ ݿø  (cvRound(window * factor))
+		double firstFactor = minFactor - 0.5 / Math.max(1, Math.min(minWindow.width, minWindow.height));
+		for (double factor = 1;; factor *= this.scaleFactor)
+		{
+			// same (float) scale, rounding and stop condition of detectMultiScale
+			// detectMultiScale  (float) , ݿø   
+			float scale = (float) factor;
+			Size scaled = new Size(Math.rint(image.cols() / scale), Math.rint(image.rows() / scale));
+			if (scaled.width < minWindow.width || scaled.height < minWindow.height)
+				break;
+			if (factor < firstFactor)
+				continue;
+
+			Mat level;
+			if (factor == 1)
+			{
+				// the level of the previous frame at this index is not reused
+				//  ġ     
+				if (this.size < this.levels.size() && this.factors.get(this.size) != 1)
+					this.levels.get(this.size).release();
+				level = image;
+			}
+			else
+			{
+				// reuse the level of the previous frame, unless it was the caller's image
+				// ȣ ̹ ƴϾٸ    
+				level = this.size < this.levels.size() && this.factors.get(this.size) != 1
+						? this.levels.get(this.size) : new Mat();
+				// the same interpolation used inside detectMultiScale
+				// detectMultiScale ο ϴ Ͱ  
+				Imgproc.resize(image, level, scaled, 0, 0, Imgproc.INTER_LINEAR_EXACT);
+			}
+
+			if (this.size < this.levels.size())
+			{
+				this.levels.set(this.size, level);
+				this.factors.set(this.size, (double) scale);
+			}
+			else
+			{
+				this.levels.add(level);
+				this.factors.add((double) scale);
+			}
+			this.size++;
+		}
+	}
+
+	/**
+	 * @return the number of levels built for the current frame
+	 * @return  ӿ    
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * @param index
+	 *            the level index (0 is the original image)
+	 * @return the scaled image
+	 * @return ҵ ̹
+	 */
+	public Mat level(int index)
+	{
+		return this.levels.get(index);
+	}
+
+	/**
+	 * @param index
+	 *            the level index (0 is the original image)
+	 * @return the ratio between the original image and the level
+	 * @return  ̹   
+	 */
+	public double factor(int index)
+	{
+		return this.factors.get(index);
+	}
+
+	/**
+	 * @return the ratio between two consecutive levels
+	 * @return ӵ    
+	 */
+	public double getScaleFactor()
+	{
+		return this.scaleFactor;
+	}
+
+	/**
+	 * Release the native memory of the scaled levels
+	 * ҵ  Ƽ ޸𸮸 մϴ.
+	 */
+	public void release()
+	{
+		// the levels do not own the caller's image
+		//  ȣ ̹  ʽϴ.
+		for (int i = 0; i < this.levels.size(); i++)
+		{
+			if (this.factors.get(i) != 1)
+				this.levels.get(i).release();
+		}
+		this.levels.clear();
+		this.factors.clear();
+		this.size = 0;
+	}
+}
\ No newline at end of file
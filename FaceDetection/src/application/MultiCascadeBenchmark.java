@@ -0,0 +1,189 @@
+package application;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfByte;
+import org.opencv.core.MatOfRect;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+import org.opencv.objdetect.CascadeClassifier;
+import org.opencv.objdetect.Objdetect;
+
+/**
+ * Measure what adding a second cascade costs: the Haar and the LBP frontal
+ * face cascades run on their own, one after the other, and together in a
+ * {@link MultiCascadeDetector}, with every cascade scanning the shared pyramid
+ * (full) and with the candidate gating (gated), with the faces each way finds.
+ *  ° ĳ̵带 ߰ϴ  մϴ: Haar LBP   ĳ̵带  , ʷ, ׸
+ * {@link MultiCascadeDetector} Բ ( ĳ̵尡  Ƕ̵带 Žϴ full, ĺ  ϴ gated)
+ * ϰ,   ã  ݴϴ.
+ *
+ * <pre>
+ * MultiCascadeBenchmark [--image file] [--haar file] [--lbp file] [--iterations n] [--threads n]
+ * </pre>
+ *
+ * Without an image, the bundled warm-up image is used.
+ * ̹   ־ ̹ մϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class MultiCascadeBenchmark
+{
+	private static final int WIDTH = 640;
+	private static final int HEIGHT = 480;
+
+	public static void main(String[] args)
+	{
+		String image = null;
+		//  - ĳ̵  (Assertion failed (!empty())  ߻ϰ cascade ν .)
+		String haarPath = "C:\\opencv\\sources\\data\\haarcascades\\haarcascade_frontalface_alt.xml";
+		String lbpPath = "C:\\opencv\\sources\\data\\lbpcascades\\lbpcascade_frontalface.xml";
+		int iterations = 50;
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int i = 0; i < args.length; i++)
+		{
+			if ("--image".equals(args[i]) && i + 1 < args.length)
+				image = args[++i];
+			else if ("--haar".equals(args[i]) && i + 1 < args.length)
+				haarPath = args[++i];
+			else if ("--lbp".equals(args[i]) && i + 1 < args.length)
+				lbpPath = args[++i];
+			else if ("--iterations".equals(args[i]) && i + 1 < args.length)
+				iterations = Integer.parseInt(args[++i]);
+			else if ("--threads".equals(args[i]) && i + 1 < args.length)
+				threads = Integer.parseInt(args[++i]);
+			else
+				System.err.println("Ignoring unknown argument " + args[i]);
+		}
+
+		// load the native OpenCV library
+		// Ƽ OpenCV ̺귯 ε
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+
+		CascadeClassifier haar = new CascadeClassifier(haarPath), lbp = new CascadeClassifier(lbpPath);
+		if (haar.empty() || lbp.empty())
+		{
+			System.err.println("Cannot load the cascades " + haarPath + " and " + lbpPath);
+			System.exit(1);
+		}
+		Mat frame = image != null ? Imgcodecs.imread(image) : readResource("warmup.jpg");
+		if (frame.empty())
+		{
+			System.err.println("Cannot read the image " + (image != null ? image : "warmup.jpg"));
+			System.exit(1);
+		}
+
+		// the same preprocessing as the application, without downscale
+		//   ø̼ǰ  ó
+		Mat gray = new Mat();
+		Imgproc.resize(frame, gray, new Size(WIDTH, HEIGHT), 0, 0, Imgproc.INTER_AREA);
+		Imgproc.cvtColor(gray, gray, Imgproc.COLOR_BGR2GRAY);
+		Imgproc.equalizeHist(gray, gray);
+		int faceSize = Math.round(HEIGHT * 0.2f);
+		Size minSize = new Size(faceSize, faceSize);
+
+		System.out.println(String.format(Locale.ROOT, "%dx%d, %d iterations, %d processors", WIDTH, HEIGHT,
+				iterations, Runtime.getRuntime().availableProcessors()));
+		System.out.println("cascades              threads  ms/frame  faces");
+
+		Rect[] haarFaces = detect(haar, gray, minSize);
+		Rect[] lbpFaces = detect(lbp, gray, minSize);
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			detect(haar, gray, minSize);
+		double haarMs = print("haar", 1, System.nanoTime() - start, iterations, haarFaces);
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			detect(lbp, gray, minSize);
+		double lbpMs = print("lbp", 1, System.nanoTime() - start, iterations, lbpFaces);
+
+		// each cascade on its own, then the faces merged as the detector does
+		//  ĳ̵带   ,    
+		List<Rect> separate = new ArrayList<>(Arrays.asList(haarFaces));
+		separate.addAll(Arrays.asList(lbpFaces));
+		Rect[] separateFaces = Utils.mergeOverlapping(separate);
+		print("haar then lbp", 1, (long) ((haarMs + lbpMs) * 1e6 * iterations), iterations, separateFaces);
+
+		for (boolean gating : new boolean[] { false, true })
+		{
+			for (int workers : threads > 1 ? new int[] { 1, threads } : new int[] { 1 })
+			{
+				MultiCascadeDetector detector = new MultiCascadeDetector(1.1, workers);
+				detector.addPrimary("haar", haar, 2);
+				detector.addPrimary("lbp", lbp, 2);
+				detector.setCandidateGating(gating);
+				Rect[] faces = detector.detect(gray, minSize, new Size()).getFaces();
+				start = System.nanoTime();
+				for (int i = 0; i < iterations; i++)
+					detector.detect(gray, minSize, new Size());
+				print(gating ? "multi detector, gated" : "multi detector, full", workers, System.nanoTime() - start,
+						iterations, faces);
+				detector.shutdown();
+
+				// the faces of the separate cascades the detector also found
+				//   ĳ̵   ⵵ ã 
+				int found = 0;
+				for (Rect face : separateFaces)
+				{
+					for (Rect other : faces)
+					{
+						if (Utils.overlap(face, other) > 0.5)
+						{
+							found++;
+							break;
+						}
+					}
+				}
+				System.out.println(String.format(Locale.ROOT, "  %d of %d faces of the separate cascades found", found,
+						separateFaces.length));
+			}
+		}
+	}
+
+	private static Rect[] detect(CascadeClassifier cascade, Mat gray, Size minSize)
+	{
+		MatOfRect faces = new MatOfRect();
+		cascade.detectMultiScale(gray, faces, 1.1, 2, Objdetect.CASCADE_SCALE_IMAGE, minSize, new Size());
+		Rect[] found = faces.toArray();
+		faces.release();
+		return found;
+	}
+
+	private static Mat readResource(String name)
+	{
+		try (InputStream input = MultiCascadeBenchmark.class.getResourceAsStream(name))
+		{
+			if (input == null)
+				return new Mat();
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			for (int read = input.read(buffer); read > 0; read = input.read(buffer))
+				bytes.write(buffer, 0, read);
+			return Imgcodecs.imdecode(new MatOfByte(bytes.toByteArray()), Imgcodecs.IMREAD_COLOR);
+		}
+		catch (IOException e)
+		{
+			System.err.println("Cannot read " + name + ": " + e);
+			return new Mat();
+		}
+	}
+
+	private static double print(String cascades, int threads, long nanos, int iterations, Rect[] faces)
+	{
+		double ms = nanos / 1e6 / iterations;
+		System.out.println(String.format(Locale.ROOT, "%-21s %7d %9.2f  %d", cascades, threads, ms, faces.length));
+		return ms;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,437 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfInt;
+import org.opencv.core.MatOfRect;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.objdetect.CascadeClassifier;
+import org.opencv.objdetect.Objdetect;
+
+/**
+ * Run several cascade classifiers on the same frame.
+ *  ӿ  ĳ̵ з⸦ մϴ.
+ * The primary cascades (e.g., Haar and LBP frontal faces) look for faces in
+ * the whole frame: the {@link ImagePyramid} of the frame is built once and
+ * shared by all of them, and each cascade scans every level of it on its own
+ * thread. Their results are grouped as <code>detectMultiScale</code> does,
+ * then the faces found by different cascades are merged (their union). The
+ * secondary cascades (e.g., eyes) run only inside the merged faces.
+ * 1 ĳ̵(: Haar LBP  )  ü  ãϴ:  {@link ImagePyramid}   
+ * ΰ ϰ,  ĳ̵ ڽ 忡   Žմϴ.  <code>detectMultiScale</code> 
+ * ׷ȭ   ٸ ĳ̵尡 ã 󱼳 ()˴ϴ. 2 ĳ̵(: ) յ  ȿ ˴ϴ.
+ * With the candidate gating ({@link #setCandidateGating(boolean)}), only the
+ * scanning cascade (the LBP one if any, the cheapest to evaluate) looks at
+ * every position, and the other cascades look only around its raw
+ * candidates: it is faster, but a face that the scanning cascade does not even
+ * consider is then found by none of the others. MultiCascadeBenchmark
+ * measures both modes against running each cascade on its own.
+ * ĺ ({@link #setCandidateGating(boolean)}) ϸ Ž ĳ̵(ִٸ     LBP) 
+ * ġ ǰ ٸ ĳ̵   ĺ ֺ ̴ϴ:  , Ž ĳ̵尡    
+ * ٸ ĳ̵嵵 ã մϴ. MultiCascadeBenchmark    ĳ̵带    Ͽ մϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class MultiCascadeDetector
+{
+	// the grouping tolerance used by detectMultiScale
+	// detectMultiScale ϴ ׷ȭ  
+	private static final double GROUP_EPS = 0.2;
+	// the feature type of the LBP cascades (CascadeClassifier.getFeatureType)
+	// LBP ĳ̵ Ư¡  (CascadeClassifier.getFeatureType)
+	private static final int LBP_FEATURES = 1;
+	// a raw candidate of the scanning cascade is looked around at the levels
+	// where the faces are up to this ratio smaller or larger
+	// Ž ĳ̵  ĺ ֺ   ŭ ۰ų ū  
+	private static final double SCALE_TOLERANCE = 1.25;
+	// the margin looked at around a raw candidate, in windows
+	//  ĺ ֺ Ǵ  (â )
+	private static final double REGION_MARGIN = 0.5;
+	// above this fraction of a level around the candidates, the whole level is looked at
+	// ĺ ֺ      ü 
+	private static final double MAX_REGION_AREA = 0.5;
+
+	/**
+	 * A configured cascade
+	 *  ĳ̵
+	 */
+	private static class Cascade
+	{
+		final String name;
+		final CascadeClassifier classifier;
+		final Size window;
+		final int minNeighbors;
+		final boolean lbp;
+
+		Cascade(String name, CascadeClassifier classifier, int minNeighbors)
+		{
+			this.name = name;
+			this.classifier = classifier;
+			this.window = classifier.getOriginalWindowSize();
+			this.minNeighbors = minNeighbors;
+			this.lbp = classifier.getFeatureType() == LBP_FEATURES;
+		}
+	}
+
+	private final List<Cascade> primary = new ArrayList<>();
+	private final List<Cascade> secondary = new ArrayList<>();
+	// the pyramid shared by the primary cascades
+	// 1 ĳ̵尡 ϴ Ƕ̵
+	private final ImagePyramid pyramid;
+	// the threads running the cascades (a cascade is used by one thread at a time)
+	// ĳ̵带 ϴ  (ϳ ĳ̵   ϳ 常 )
+	private final ExecutorService workers;
+	// the other primary cascades look only around the candidates of the scanning one
+	// ٸ 1 ĳ̵ Ž ĳ̵ ĺ ֺ 
+	private boolean candidateGating;
+
+	/**
+	 * Create a detector without cascades
+	 * ĳ̵尡  ⸦ մϴ.
+	 *
+	 * @param scaleFactor
+	 *            the pyramid scale factor, as in <code>detectMultiScale</code>
+	 * @param threads
+	 *            the number of threads running the cascades
+	 */
+	public MultiCascadeDetector(double scaleFactor, int threads)
+	{
+		this.pyramid = new ImagePyramid(scaleFactor);
+		this.workers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+			Thread thread = new Thread(runnable, "cascade-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Let only the scanning cascade look at every position, and the other
+	 * primary cascades only around its raw candidates (off by default: every
+	 * cascade scans the whole pyramid)
+	 * Ž ĳ̵常  ġ ǰ ٸ 1 ĳ̵   ĺ ֺ ǰ մϴ (⺻ : 
+	 * ĳ̵尡 Ƕ̵ ü Ž).
+	 *
+	 * @param candidateGating
+	 *            true to look only around the candidates of the scanning
+	 *            cascade, at the cost of the faces it does not consider
+	 */
+	public void setCandidateGating(boolean candidateGating)
+	{
+		this.candidateGating = candidateGating;
+	}
+
+	/**
+	 * Add a cascade looking for faces in the whole frame
+	 *  ü  ã ĳ̵带 ߰մϴ.
+	 *
+	 * @param name
+	 *            the name of the cascade
+	 * @param classifier
+	 *            the loaded classifier
+	 * @param minNeighbors
+	 *            as in <code>detectMultiScale</code>
+	 */
+	public void addPrimary(String name, CascadeClassifier classifier, int minNeighbors)
+	{
+		if (classifier.empty())
+		{
+			System.err.println("Failed to load the " + name + " cascade, it will not be used...");
+			return;
+		}
+		this.primary.add(new Cascade(name, classifier, minNeighbors));
+	}
+
+	/**
+	 * Add a cascade looking for features inside the detected faces
+	 *   ȿ Ư¡ ã ĳ̵带 ߰մϴ.
+	 *
+	 * @param name
+	 *            the name of the cascade, used as key of the features in the
+	 *            {@link DetectionResult}
+	 * @param classifier
+	 *            the loaded classifier
+	 * @param minNeighbors
+	 *            as in <code>detectMultiScale</code>
+	 */
+	public void addSecondary(String name, CascadeClassifier classifier, int minNeighbors)
+	{
+		if (classifier.empty())
+		{
+			System.err.println("Failed to load the " + name + " cascade, it will not be used...");
+			return;
+		}
+		this.secondary.add(new Cascade(name, classifier, minNeighbors));
+	}
+
+	/**
+	 * Detect faces and features in a frame
+	 * ӿ 󱼰 Ư¡ մϴ.
+	 *
+	 * @param grayFrame
+	 *            the equalized gray frame
+	 * @param minSize
+	 *            the minimum face size
+	 * @param maxSize
+	 *            the maximum face size (an empty {@link Size} for no limit)
+	 * @return the detected faces and features
+	 */
+	public DetectionResult detect(Mat grayFrame, Size minSize, Size maxSize)
+	{
+		if (this.primary.isEmpty())
+			return new DetectionResult(new Rect[0]);
+
+		// build the pyramid once, from the first scale where a face of the
+		// minimum size fits a window, down to the smallest window
+		// ּ ũ  â ´ ù    â Ƕ̵带   ϴ.
+		Size minWindow = this.primary.get(0).window;
+		double minFactor = Double.MAX_VALUE;
+		for (Cascade cascade : this.primary)
+		{
+			if (cascade.window.area() < minWindow.area())
+				minWindow = cascade.window;
+			minFactor = Math.min(minFactor,
+					Math.min(minSize.width / cascade.window.width, minSize.height / cascade.window.height));
+		}
+		this.pyramid.build(grayFrame, minFactor, minWindow);
+
+		List<Rect> candidates = new ArrayList<>();
+		if (this.candidateGating)
+			candidates.addAll(this.detectGated(minSize, maxSize));
+		else
+		{
+			// run every primary cascade on the shared levels, in parallel
+			//    1 ĳ̵带 ķ 
+			List<Future<Rect[]>> pending = new ArrayList<>();
+			for (Cascade cascade : this.primary)
+				pending.add(this.workers.submit(() -> this.detectOnPyramid(cascade, minSize, maxSize, null, null)));
+			for (Future<Rect[]> result : pending)
+				candidates.addAll(Arrays.asList(await(result)));
+		}
+		Rect[] faces = Utils.mergeOverlapping(candidates);
+
+		// run the secondary cascades inside the faces only
+		// 2 ĳ̵  ȿ 
+		Map<String, Rect[]> features = new LinkedHashMap<>();
+		if (faces.length > 0 && !this.secondary.isEmpty())
+		{
+			Map<String, Future<Rect[]>> pendingFeatures = new LinkedHashMap<>();
+			for (Cascade cascade : this.secondary)
+				pendingFeatures.put(cascade.name, this.workers.submit(() -> detectInFaces(cascade, grayFrame, faces)));
+			for (Map.Entry<String, Future<Rect[]>> entry : pendingFeatures.entrySet())
+				features.put(entry.getKey(), await(entry.getValue()));
+		}
+
+		return new DetectionResult(faces, features);
+	}
+
+	/**
+	 * Run the scanning cascade on every position of the shared levels, then the
+	 * other primary cascades around its raw candidates, in parallel
+	 *    ġ Ž ĳ̵带  , ٸ 1 ĳ̵带   ĺ ֺ ķ մϴ.
+	 *
+	 * @return the faces of all the cascades, not merged yet
+	 */
+	private List<Rect> detectGated(Size minSize, Size maxSize)
+	{
+		Cascade scanner = this.primary.get(0);
+		for (Cascade cascade : this.primary)
+		{
+			if (cascade.lbp && !scanner.lbp)
+				scanner = cascade;
+		}
+		List<Rect> raw = new ArrayList<>();
+		List<Rect> candidates = new ArrayList<>(Arrays.asList(this.detectOnPyramid(scanner, minSize, maxSize, null, raw)));
+
+		List<Future<Rect[]>> pending = new ArrayList<>();
+		for (Cascade cascade : this.primary)
+		{
+			if (cascade != scanner && !raw.isEmpty())
+				pending.add(this.workers.submit(() -> this.detectOnPyramid(cascade, minSize, maxSize, raw, null)));
+		}
+		for (Future<Rect[]> result : pending)
+			candidates.addAll(Arrays.asList(await(result)));
+		return candidates;
+	}
+
+	/**
+	 * Run a cascade on the levels of the shared pyramid and group the
+	 * candidates as <code>detectMultiScale</code> does
+	 *  Ƕ̵  ĳ̵带 ϰ <code>detectMultiScale</code>  ĺ ׷ȭմϴ.
+	 *
+	 * @param cascade
+	 *            the cascade to run
+	 * @param minSize
+	 *            the minimum face size
+	 * @param maxSize
+	 *            the maximum face size (an empty {@link Size} for no limit)
+	 * @param around
+	 *            the raw candidates of the scanning cascade to look around, in
+	 *            frame coordinates, or null to look at every position
+	 * @param raw
+	 *            receives the raw candidates, in frame coordinates, or null
+	 * @return the grouped faces, in frame coordinates
+	 */
+	private Rect[] detectOnPyramid(Cascade cascade, Size minSize, Size maxSize, List<Rect> around, List<Rect> raw)
+	{
+		List<Rect> candidates = new ArrayList<>();
+		MatOfRect found = new MatOfRect();
+		for (int i = 0; i < this.pyramid.size(); i++)
+		{
+			double factor = this.pyramid.factor(i);
+			Size window = new Size(Math.rint(cascade.window.width * factor), Math.rint(cascade.window.height * factor));
+			if (!maxSize.empty() && (window.width > maxSize.width || window.height > maxSize.height))
+				break;
+			if (window.width < minSize.width || window.height < minSize.height)
+				continue;
+			Mat level = this.pyramid.level(i);
+			if (level.cols() < cascade.window.width || level.rows() < cascade.window.height)
+				break;
+
+			Rect bounds = new Rect(0, 0, level.cols(), level.rows());
+			List<Rect> regions = around == null ? Arrays.asList(bounds)
+					: regionsAround(around, factor, window, cascade.window, bounds);
+			for (Rect region : regions)
+			{
+				// detectMultiScale slides the window with a step of 2 pixels, or 1
+				// above a factor of 2: a single call covers the even positions,
+				// three more calls on views shifted by one pixel cover the others
+				// detectMultiScale â 2ȼ  ( 2 ̻󿡼 1ȼ) ̵մϴ:
+				//   ȣ ¦ ġ, 1ȼ ̵ 信    ߰ ȣ  ġ óմϴ.
+				int shifts = factor > 2 ? 2 : 1;
+				for (int dy = 0; dy < shifts; dy++)
+				{
+					for (int dx = 0; dx < shifts; dx++)
+					{
+						int x = region.x + dx, y = region.y + dy;
+						if (region.x + region.width - x < cascade.window.width
+								|| region.y + region.height - y < cascade.window.height)
+							continue;
+						Mat view = x == 0 && y == 0 && region.width == level.cols() && region.height == level.rows()
+								? level : level.submat(y, region.y + region.height, x, region.x + region.width);
+						// a single scale: the window is forced to the original size
+						//  : â  ũ 
+						cascade.classifier.detectMultiScale(view, found, this.pyramid.getScaleFactor(), 0,
+								Objdetect.CASCADE_SCALE_IMAGE, cascade.window, cascade.window);
+						for (Rect rect : found.toArray())
+							candidates.add(new Rect((int) Math.rint((rect.x + x) * factor),
+									(int) Math.rint((rect.y + y) * factor), (int) window.width, (int) window.height));
+						if (view != level)
+							view.release();
+					}
+				}
+			}
+		}
+		found.release();
+		if (raw != null)
+			raw.addAll(candidates);
+
+		MatOfRect grouped = new MatOfRect();
+		grouped.fromList(candidates);
+		Objdetect.groupRectangles(grouped, new MatOfInt(), cascade.minNeighbors, GROUP_EPS);
+		Rect[] faces = grouped.toArray();
+		grouped.release();
+		return faces;
+	}
+
+	/**
+	 * @return the regions of a level around the raw candidates of a similar
+	 *         size, grown by half a window on each side, or the whole level if
+	 *         they cover most of it
+	 * @return  ũ  ĺ ֺ   (  â ݸŭ Ȯ), κ   ü
+	 */
+	private static List<Rect> regionsAround(List<Rect> candidates, double factor, Size window, Size levelWindow,
+			Rect bounds)
+	{
+		List<Rect> regions = new ArrayList<>();
+		for (Rect candidate : candidates)
+		{
+			double ratio = candidate.width / window.width;
+			if (ratio > SCALE_TOLERANCE || ratio < 1 / SCALE_TOLERANCE)
+				continue;
+			int x = (int) Math.floor(candidate.x / factor - levelWindow.width * REGION_MARGIN);
+			int y = (int) Math.floor(candidate.y / factor - levelWindow.height * REGION_MARGIN);
+			int width = (int) Math.ceil(candidate.width / factor + 2 * levelWindow.width * REGION_MARGIN);
+			int height = (int) Math.ceil(candidate.height / factor + 2 * levelWindow.height * REGION_MARGIN);
+			Rect region = Utils.intersection(new Rect(x, y, width, height), bounds);
+			if (region.area() > 0)
+				regions.add(region);
+		}
+		regions = Utils.union(regions);
+		double area = 0;
+		for (Rect region : regions)
+			area += region.area();
+		return area > bounds.area() * MAX_REGION_AREA ? Arrays.asList(bounds) : regions;
+	}
+
+	/**
+	 * Run a cascade inside each face
+	 *   ȿ ĳ̵带 մϴ.
+	 *
+	 * @param cascade
+	 *            the cascade to run
+	 * @param grayFrame
+	 *            the equalized gray frame
+	 * @param faces
+	 *            the faces where to look
+	 * @return the found features, in frame coordinates
+	 */
+	private static Rect[] detectInFaces(Cascade cascade, Mat grayFrame, Rect[] faces)
+	{
+		List<Rect> features = new ArrayList<>();
+		MatOfRect found = new MatOfRect();
+		Rect bounds = new Rect(0, 0, grayFrame.cols(), grayFrame.rows());
+		for (Rect face : faces)
+		{
+			Rect area = Utils.intersection(face, bounds);
+			if (area.width < cascade.window.width || area.height < cascade.window.height)
+				continue;
+			Mat roi = grayFrame.submat(area);
+			cascade.classifier.detectMultiScale(roi, found, 1.1, cascade.minNeighbors, Objdetect.CASCADE_SCALE_IMAGE,
+					cascade.window, new Size());
+			for (Rect rect : found.toArray())
+				features.add(new Rect(rect.x + area.x, rect.y + area.y, rect.width, rect.height));
+			roi.release();
+		}
+		found.release();
+		return features.toArray(new Rect[features.size()]);
+	}
+
+	private static Rect[] await(Future<Rect[]> result)
+	{
+		try
+		{
+			return result.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return new Rect[0];
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("Cascade failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Stop the worker threads and release the pyramid
+	 * ۾ 带 ϰ Ƕ̵带 մϴ.
+	 */
+	public void shutdown()
+	{
+		this.workers.shutdown();
+		this.pyramid.release();
+	}
+}
\ No newline at end of file
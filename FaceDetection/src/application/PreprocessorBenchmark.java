@@ -0,0 +1,203 @@
+package application;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Size;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * Command line check for the {@link FramePreprocessor}: for a set of frame
+ * sizes (or a given image) it verifies that the pure Java kernels produce
+ * exactly the OpenCV pixels, then times both implementations step by step
+ * and reports which one is faster on this platform.
+ * {@link FramePreprocessor}   ˻ Դϴ:   ũ(Ǵ ־ ̹) 
+ *  Java Ŀ OpenCV Ȯ  ȼ  Ȯ ,   ܰ躰 ð Ͽ
+ *  ÷     մϴ.
+ *
+ * <pre>
+ * PreprocessorBenchmark [--image &lt;file&gt;] [--iterations &lt;n&gt;] [--downscale &lt;n&gt;]
+ * </pre>
+ *
+ * The process exits with status 1 if any output differs from OpenCV.
+ * OpenCV ٸ    1 մϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class PreprocessorBenchmark
+{
+	// the frame sizes used when no image is given
+	// ̹ ־ ʾ  ϴ  ũ
+	private static final int[][] FRAME_SIZES = { { 640, 480 }, { 1280, 720 }, { 1920, 1080 } };
+
+	private final int iterations;
+	private final int downscale;
+	private boolean exact = true;
+
+	public PreprocessorBenchmark(int iterations, int downscale)
+	{
+		this.iterations = iterations;
+		this.downscale = downscale;
+	}
+
+	/**
+	 * Verify and time every step on the given BGR frame
+	 * ־ BGR   ܰ踦 ϰ ð մϴ.
+	 *
+	 * @param frame
+	 *            the BGR frame
+	 */
+	public void run(Mat frame)
+	{
+		int width = frame.cols(), height = frame.rows(), pixels = width * height;
+		int smallWidth = width / this.downscale, smallHeight = height / this.downscale;
+		System.out.println(String.format(Locale.ROOT, "%dx%d (downscale %d)", width, height, this.downscale));
+
+		// buffers for the Java kernels
+		// Java Ŀ  
+		byte[] bgr = new byte[pixels * 3];
+		byte[] gray = new byte[pixels];
+		byte[] small = new byte[smallWidth * smallHeight];
+		byte[] equalized = new byte[small.length];
+		int[] histogram = new int[4 * 256];
+		byte[] lut = new byte[256];
+		frame.get(0, 0, bgr);
+
+		// OpenCV results
+		// OpenCV 
+		Mat grayMat = new Mat(), smallMat = new Mat(), equalizedMat = new Mat();
+		Mat cropped = grayMat;
+
+		// gray conversion
+		// ȸ ȯ
+		long cv = this.time(() -> Imgproc.cvtColor(frame, grayMat, Imgproc.COLOR_BGR2GRAY));
+		long java = this.time(() -> GrayKernels.bgrToGray(bgr, gray, pixels));
+		this.report("BGR2GRAY", cv, java, grayMat, gray);
+
+		// downscale
+		// 
+		if (this.downscale > 1)
+			cropped = grayMat.submat(0, smallHeight * this.downscale, 0, smallWidth * this.downscale);
+		final Mat source = cropped;
+		cv = this.time(() -> Imgproc.resize(source, smallMat, new Size(smallWidth, smallHeight), 0, 0,
+				Imgproc.INTER_AREA));
+		java = this.time(() -> GrayKernels.downscale(gray, width, height, this.downscale, small));
+		this.report("resize", cv, java, smallMat, small);
+
+		// histogram equalization
+		// ׷ Ȱȭ
+		cv = this.time(() -> Imgproc.equalizeHist(smallMat, equalizedMat));
+		java = this.time(() -> GrayKernels.equalizeHist(small, equalized, small.length, histogram, lut));
+		this.report("equalizeHist", cv, java, equalizedMat, equalized);
+
+		// whole preprocessing, including the copies in and out of the Mat
+		// Mat  縦  ü ó
+		FramePreprocessor opencv = new FramePreprocessor(FramePreprocessor.Mode.OPENCV, this.downscale);
+		FramePreprocessor pure = new FramePreprocessor(FramePreprocessor.Mode.JAVA, this.downscale);
+		Mat outOpenCV = new Mat(), outJava = new Mat();
+		cv = this.time(() -> opencv.process(frame, outOpenCV));
+		java = this.time(() -> pure.process(frame, outJava));
+		byte[] outPixels = new byte[(int) outJava.total()];
+		outJava.get(0, 0, outPixels);
+		this.report("process", cv, java, outOpenCV, outPixels);
+
+		grayMat.release();
+		smallMat.release();
+		equalizedMat.release();
+		outOpenCV.release();
+		outJava.release();
+	}
+
+	/**
+	 * Run a step (after a warm up) and measure its mean time
+	 * ܰ踦 (־ ) ϰ  ð մϴ.
+	 *
+	 * @param step
+	 *            the step to execute
+	 * @return the mean time of a run, in nanoseconds
+	 */
+	private long time(Runnable step)
+	{
+		for (int i = 0; i < this.iterations; i++)
+			step.run();
+		long start = System.nanoTime();
+		for (int i = 0; i < this.iterations; i++)
+			step.run();
+		return (System.nanoTime() - start) / this.iterations;
+	}
+
+	/**
+	 * Print the timings of a step and compare its outputs
+	 * ܰ ð ϰ  մϴ.
+	 */
+	private void report(String step, long cv, long java, Mat expected, byte[] actual)
+	{
+		byte[] pixels = new byte[(int) expected.total()];
+		expected.get(0, 0, pixels);
+		// a size mismatch is a mismatch, whatever the pixels in common
+		// ũⰡ ٸ  ȼ  ġ
+		boolean sameSize = actual.length == pixels.length;
+		boolean same = sameSize && Arrays.equals(pixels, actual);
+		this.exact &= same;
+		String result = same ? "exact" : "MISMATCH";
+		if (!sameSize)
+			result += " (" + actual.length + " pixels, expected " + pixels.length + ")";
+		System.out.println(String.format(Locale.ROOT, "  %-14s opencv %8.1f us   java %8.1f us   %-6s %s", step,
+				cv / 1000.0, java / 1000.0, java < cv ? "java" : "opencv", result));
+	}
+
+	public static void main(String[] args)
+	{
+		// load the native OpenCV library
+		// Ƽ OpenCV ̺귯 ε
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+
+		String image = null;
+		int iterations = 200, downscale = 2;
+		for (int i = 0; i + 1 < args.length; i += 2)
+		{
+			if ("--image".equals(args[i]))
+				image = args[i + 1];
+			else if ("--iterations".equals(args[i]))
+				iterations = Integer.parseInt(args[i + 1]);
+			else if ("--downscale".equals(args[i]))
+				downscale = Math.max(1, Integer.parseInt(args[i + 1]));
+		}
+
+		PreprocessorBenchmark benchmark = new PreprocessorBenchmark(iterations, downscale);
+		if (image != null)
+		{
+			Mat frame = Imgcodecs.imread(image, Imgcodecs.IMREAD_COLOR);
+			if (frame.empty())
+			{
+				System.err.println("Failed to read the image " + image);
+				System.exit(1);
+			}
+			benchmark.run(frame);
+		}
+		else
+		{
+			for (int[] size : FRAME_SIZES)
+			{
+				// random noise has a full histogram, the worst case for the LUT
+				//   ׷   ־ LUT ־ Դϴ.
+				Mat frame = new Mat(size[1], size[0], CvType.CV_8UC3);
+				Core.randu(frame, 0, 256);
+				benchmark.run(frame);
+				frame.release();
+			}
+		}
+
+		if (!benchmark.exact)
+		{
+			System.err.println("The Java kernels do not match OpenCV on this platform: keep facedetection.preprocess=opencv");
+			System.exit(1);
+		}
+	}
+}
\ No newline at end of file
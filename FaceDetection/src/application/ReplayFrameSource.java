@@ -0,0 +1,276 @@
+package application;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.opencv.core.Mat;
+
+/**
+ * A {@link FrameSource} playing back a recording made by {@link FrameRecorder},
+ * at the original pace or as fast as possible.
+ * {@link FrameRecorder}  ȭ  ӵ Ǵ ִ ӵ ϴ {@link FrameSource}Դϴ.
+ * The segments are mapped copy-on-write and the frames are views on the
+ * mapping: nothing is copied unless a frame is written to, and then only the
+ * touched pages, never the file.
+ * ׸Ʈ copy-on-write εǸ  ο  Դϴ: ӿ  ʴ 
+ * ƹ͵  ,    ǰ   ʽϴ.
+ * When looping, the frames of a pass stay valid until the end of the next
+ * pass.
+ * ݺ    ȸ   ȸ   ȿմϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class ReplayFrameSource implements FrameSource
+{
+	// the directory of the recording
+	// ȭ 丮
+	private final File directory;
+	// reproduce the original timing between the frames
+	//    ð  
+	private final boolean realTime;
+	// start again at the end of the recording
+	// ȭ  ó ٽ 
+	private final boolean loop;
+	// the mapped segments, kept reachable while their frames can be in use
+	// ε ׸Ʈ (    ִ   )
+	private final List<ByteBuffer> segments = new ArrayList<>();
+	private List<ByteBuffer> previousPass = new ArrayList<>();
+	private File[] files;
+	private int segmentIndex;
+	private ByteBuffer current;
+	// true if the segments could only be mapped read-only
+	// ׸Ʈ б θ   ִ  true
+	private boolean copyFrames;
+	// the timestamp of the last frame and the time the pass started
+	//   Ÿӽ ȸ ۵ ð
+	private long timestamp;
+	private long passStart;
+	private long frames;
+
+	/**
+	 * Create a replay source
+	 *  ޿ մϴ.
+	 *
+	 * @param directory
+	 *            the directory of the recording
+	 * @param realTime
+	 *            true to reproduce the original timing, false to replay as fast
+	 *            as possible
+	 * @param loop
+	 *            true to start again at the end of the recording
+	 */
+	public ReplayFrameSource(File directory, boolean realTime, boolean loop)
+	{
+		this.directory = directory;
+		this.realTime = realTime;
+		this.loop = loop;
+	}
+
+	@Override
+	public boolean open()
+	{
+		this.release();
+		this.files = this.directory.listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name)
+			{
+				return name.startsWith(FrameRecorder.SEGMENT_PREFIX) && name.endsWith(FrameRecorder.SEGMENT_SUFFIX);
+			}
+		});
+		if (this.files == null || this.files.length == 0)
+		{
+			System.err.println("No recording found in " + this.directory);
+			this.files = null;
+			return false;
+		}
+		Arrays.sort(this.files);
+		this.startPass();
+		return this.current != null;
+	}
+
+	@Override
+	public boolean isOpened()
+	{
+		return this.current != null;
+	}
+
+	@Override
+	public Mat read()
+	{
+		while (this.current != null)
+		{
+			int position = this.current.position();
+			if (this.current.remaining() < FrameRecorder.HEADER_SIZE || this.current.getInt(position) == 0)
+			{
+				// end of the segment
+				// ׸Ʈ 
+				if (!this.nextSegment())
+				{
+					if (!this.loop || this.frames == 0)
+						return new Mat();
+					this.previousPass = new ArrayList<>(this.segments);
+					this.segments.clear();
+					this.startPass();
+				}
+				continue;
+			}
+
+			int rows = this.current.getInt(position);
+			int cols = this.current.getInt(position + 4);
+			int type = this.current.getInt(position + 8);
+			long frameTime = this.current.getLong(position + 16);
+			int length = (int) this.current.getLong(position + 24);
+			ByteBuffer pixels = FrameRecorder.slice(this.current, position + FrameRecorder.HEADER_SIZE, length);
+			this.current.position(position + (int) FrameRecorder.align(FrameRecorder.HEADER_SIZE + length));
+
+			Mat frame = new Mat(rows, cols, type, pixels);
+			if (this.copyFrames)
+			{
+				Mat copy = frame.clone();
+				frame.release();
+				frame = copy;
+			}
+
+			if (this.realTime)
+				this.waitUntil(this.passStart + frameTime);
+			this.timestamp = frameTime;
+			this.frames++;
+			return frame;
+		}
+		return new Mat();
+	}
+
+	/**
+	 * @return the time of the last frame read, in nanoseconds since the first
+	 *         frame of the recording
+	 * @return    ð (ȭ ù Ӻ )
+	 */
+	@Override
+	public long getTimestamp()
+	{
+		return this.timestamp;
+	}
+
+	/**
+	 * @return the number of frames read since the source was opened
+	 * @return ޿     
+	 */
+	public long getFrameCount()
+	{
+		return this.frames;
+	}
+
+	@Override
+	public void release()
+	{
+		this.current = null;
+		this.files = null;
+		this.segments.clear();
+		this.previousPass.clear();
+		this.frames = 0;
+	}
+
+	/**
+	 * Go back to the first segment of the recording
+	 * ȭ ù ׸Ʈ ưϴ.
+	 */
+	private void startPass()
+	{
+		this.segmentIndex = 0;
+		this.current = null;
+		this.passStart = System.nanoTime();
+		this.nextSegment();
+	}
+
+	/**
+	 * Map the next segment of the recording
+	 * ȭ  ׸Ʈ մϴ.
+	 *
+	 * @return false at the end of the recording
+	 */
+	private boolean nextSegment()
+	{
+		while (this.files != null && this.segmentIndex < this.files.length)
+		{
+			File file = this.files[this.segmentIndex++];
+			try
+			{
+				ByteBuffer segment = this.map(file);
+				segment.order(ByteOrder.LITTLE_ENDIAN);
+				if (segment.capacity() < FrameRecorder.HEADER_SIZE || segment.getInt(0) != FrameRecorder.MAGIC
+						|| segment.getInt(4) != FrameRecorder.VERSION)
+				{
+					System.err.println("Not a frame recording: " + file);
+					continue;
+				}
+				segment.position(FrameRecorder.HEADER_SIZE);
+				this.segments.add(segment);
+				this.current = segment;
+				return true;
+			}
+			catch (IOException e)
+			{
+				System.err.println("Cannot map the segment " + file + ": " + e);
+			}
+		}
+		this.current = null;
+		return false;
+	}
+
+	/**
+	 * Map a segment copy-on-write, or read-only if the file cannot be opened
+	 * for writing
+	 * ׸Ʈ copy-on-write ϸ,      б  մϴ.
+	 */
+	private ByteBuffer map(File file) throws IOException
+	{
+		if (file.canWrite())
+		{
+			try (RandomAccessFile segmentFile = new RandomAccessFile(file, "rw"))
+			{
+				FileChannel channel = segmentFile.getChannel();
+				return channel.map(MapMode.PRIVATE, 0, channel.size());
+			}
+		}
+
+		// the frames must then be copied, since they may be written to
+		// ӿ   Ƿ    ؾ 
+		this.copyFrames = true;
+		try (RandomAccessFile segmentFile = new RandomAccessFile(file, "r"))
+		{
+			FileChannel channel = segmentFile.getChannel();
+			return channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Sleep until the given {@link System#nanoTime()}
+	 * ־ {@link System#nanoTime()} մϴ.
+	 */
+	private void waitUntil(long due)
+	{
+		long delay = due - System.nanoTime();
+		if (delay <= 0)
+			return;
+		try
+		{
+			TimeUnit.NANOSECONDS.sleep(delay);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
\ No newline at end of file
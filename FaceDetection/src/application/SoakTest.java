@@ -0,0 +1,702 @@
+package application;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.objdetect.CascadeClassifier;
+
+/**
+ * A headless soak and scaling test of the face detection: it runs N streams
+ * the way the controller runs the camera (a fixed rate timer per stream, one
+ * shared display thread), samples the throughput, latency, memory and GC over
+ * time, and writes a report with pass/fail thresholds.
+ *   帮 ð   Ȯ强 ׽ƮԴϴ: Ʈѷ ī޶ ϴ  (Ʈ  ֱ
+ * Ÿ̸,  ǥ  ϳ) N Ʈ ϰ, ó,  ð, ޸  GC ð 
+ * Ͽ հ/հ  ִ  ۼմϴ.
+ *
+ * <pre>
+ * SoakTest [--source synthetic|<recording dir>] [--image file] [--width n] [--height n] [--fps n]
+ *          [--streams n] [--max-streams n] [--duration s] [--step s] [--warmup s] [--sample s]
+ *          [--cascade file] [--report file]
+ *          [--max-p99 ms] [--min-throughput ratio] [--max-backlog frames]
+ *          [--max-heap-growth MB] [--max-rss-growth MB]
+ * </pre>
+ *
+ * Without --max-streams, the streams run for the whole duration (soak). With
+ * --max-streams, the number of streams grows from --streams, one step at a
+ * time, until a step misses the latency, throughput or backlog threshold: the
+ * saturation point.
+ * --max-streams  ü ð  Ʈ մϴ (soak). --max-streams 
+ * Ʈ  --streams  ܰ辿 ÷  ð, ó Ǵ ü   ϴ ܰ,  ȭ
+ *  ãϴ.
+ * The latency of a frame runs from the time its timer was due to the end of
+ * its display, so that timer overruns and display backlog are counted.
+ *   ð Ÿ̸  ð ǥð  ̹Ƿ, Ÿ̸  ǥ ü Ե˴ϴ.
+ * The live heap is the heap used after a full collection forced at each
+ * sample, so each sample pauses the streams once.
+ *  ִ    ü     ̹Ƿ,  Ʈ   ϴ.
+ * The exit code is 0 if every threshold is met, 1 otherwise.
+ *   ϸ  ڵ 0, ׷  1Դϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class SoakTest
+{
+	// the test settings
+	// ׽Ʈ 
+	private String source = "synthetic";
+	private String image;
+	private int width = 1280;
+	private int height = 720;
+	private double fps = 30;
+	private int streams = 1;
+	private int maxStreams;
+	private long duration = 600;
+	private long step = 30;
+	private long warmup = 10;
+	private long sample = 5;
+	private String cascade = "C:\\opencv\\sources\\data\\haarcascades\\haarcascade_frontalface_alt.xml";
+	private String report = "soak-report.txt";
+	// the pass/fail thresholds
+	// հ/հ 
+	private double maxP99 = 200;
+	private double minThroughput = 0.95;
+	private int maxBacklog = 30;
+	private double maxHeapGrowth = 64;
+	private double maxRssGrowth = 128;
+
+	// the output of the test
+	// ׽Ʈ 
+	private PrintWriter out;
+	private Mat baseImage;
+
+	public static void main(String[] args) throws IOException
+	{
+		SoakTest test = new SoakTest();
+		for (int i = 0; i < args.length; i++)
+		{
+			String value = i + 1 < args.length ? args[i + 1] : null;
+			if (value == null || !test.set(args[i], value))
+			{
+				System.err.println("Unknown or incomplete argument " + args[i]);
+				System.exit(2);
+			}
+			i++;
+		}
+
+		// load the native OpenCV library
+		// Ƽ OpenCV ̺귯 ε
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+
+		System.exit(test.run() ? 0 : 1);
+	}
+
+	/**
+	 * Set an option from the command line
+	 * ٿ ɼ մϴ.
+	 *
+	 * @return false if the option is unknown
+	 */
+	private boolean set(String option, String value)
+	{
+		switch (option)
+		{
+		case "--source": this.source = value; break;
+		case "--image": this.image = value; break;
+		case "--width": this.width = Integer.parseInt(value); break;
+		case "--height": this.height = Integer.parseInt(value); break;
+		case "--fps": this.fps = Double.parseDouble(value); break;
+		case "--streams": this.streams = Integer.parseInt(value); break;
+		case "--max-streams": this.maxStreams = Integer.parseInt(value); break;
+		case "--duration": this.duration = Long.parseLong(value); break;
+		case "--step": this.step = Long.parseLong(value); break;
+		case "--warmup": this.warmup = Long.parseLong(value); break;
+		case "--sample": this.sample = Long.parseLong(value); break;
+		case "--cascade": this.cascade = value; break;
+		case "--report": this.report = value; break;
+		case "--max-p99": this.maxP99 = Double.parseDouble(value); break;
+		case "--min-throughput": this.minThroughput = Double.parseDouble(value); break;
+		case "--max-backlog": this.maxBacklog = Integer.parseInt(value); break;
+		case "--max-heap-growth": this.maxHeapGrowth = Double.parseDouble(value); break;
+		case "--max-rss-growth": this.maxRssGrowth = Double.parseDouble(value); break;
+		default: return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Run the soak test, or the scaling test if a maximum number of streams is
+	 * set
+	 * ð  ׽Ʈ ϸ, ִ Ʈ  Ǹ Ȯ强 ׽Ʈ մϴ.
+	 *
+	 * @return true if every threshold is met
+	 */
+	private boolean run() throws IOException
+	{
+		if (new CascadeClassifier(this.cascade).empty())
+		{
+			System.err.println("Cannot load the cascade " + this.cascade);
+			return false;
+		}
+		if (this.image != null)
+			this.baseImage = Imgcodecs.imread(this.image);
+
+		this.out = new PrintWriter(Files.newBufferedWriter(new File(this.report).toPath(), StandardCharsets.UTF_8));
+
+		this.print("Face detection soak test, " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
+		this.print("source: " + ("synthetic".equals(this.source)
+				? String.format(Locale.ROOT, "synthetic %dx%d%s", this.width, this.height,
+						this.image != null ? " from " + this.image : "")
+				: "recording " + this.source));
+		this.print(String.format(Locale.ROOT, "rate: %.1f frames/s per stream, cascade: %s, %d processors, %d MB heap",
+				this.fps, this.cascade, Runtime.getRuntime().availableProcessors(),
+				Runtime.getRuntime().maxMemory() >> 20));
+
+		boolean passed;
+		if (this.maxStreams > 0)
+			passed = this.scale();
+		else
+			passed = this.soak();
+
+		this.print(passed ? "PASS" : "FAIL");
+		this.out.close();
+		System.out.println("Report written to " + this.report);
+		return passed;
+	}
+
+	/**
+	 * Run a fixed number of streams for the whole duration, and check that
+	 * neither the latency nor the memory drift
+	 *   Ʈ ü ð  ϰ  ð ޸𸮰  ʴ Ȯմϴ.
+	 */
+	private boolean soak()
+	{
+		this.print(String.format(Locale.ROOT, "mode: soak, %d streams, %d s (warm-up %d s)", this.streams,
+				this.duration, this.warmup));
+		Phase phase = this.runPhase(this.streams, this.duration, this.warmup);
+
+		this.print("");
+		this.print("result:");
+		boolean passed = this.checkPhase(phase);
+		double heapGrowth = phase.growth(true);
+		passed &= this.check("live heap growth", heapGrowth, "MB", heapGrowth <= this.maxHeapGrowth, "<=",
+				this.maxHeapGrowth);
+		double rssGrowth = phase.growth(false);
+		if (!Double.isNaN(rssGrowth))
+			passed &= this.check("RSS growth", rssGrowth, "MB", rssGrowth <= this.maxRssGrowth, "<=",
+					this.maxRssGrowth);
+		return passed;
+	}
+
+	/**
+	 * Add one stream at a time until a step misses a threshold
+	 * ܰ谡     Ʈ ϳ ߰մϴ.
+	 */
+	private boolean scale()
+	{
+		long stepWarmup = Math.min(this.warmup, this.step / 3);
+		this.print(String.format(Locale.ROOT, "mode: scaling, %d to %d streams, %d s per step (warm-up %d s)",
+				this.streams, this.maxStreams, this.step, stepWarmup));
+
+		List<String> steps = new ArrayList<>();
+		int sustained = 0;
+		for (int n = this.streams; n <= this.maxStreams; n++)
+		{
+			Phase phase = this.runPhase(n, this.step, stepWarmup);
+			this.print("");
+			this.print(n + " streams:");
+			boolean passed = this.checkPhase(phase);
+			steps.add(String.format(Locale.ROOT, "%3d streams  %8.1f frames/s  p99 %8.1f ms  %s", n,
+					phase.throughput(), phase.percentile(0.99), passed ? "ok" : "saturated"));
+			if (!passed)
+				break;
+			sustained = n;
+		}
+
+		this.print("");
+		this.print("result:");
+		for (String line : steps)
+			this.print("  " + line);
+		if (sustained < this.maxStreams)
+			this.print("saturation point: " + (sustained + 1) + " streams");
+		else
+			this.print("no saturation up to " + this.maxStreams + " streams");
+		return this.check("sustained streams", sustained, "", sustained >= this.streams, ">=", this.streams);
+	}
+
+	/**
+	 * Check the thresholds common to both modes
+	 *  忡   Ȯմϴ.
+	 */
+	private boolean checkPhase(Phase phase)
+	{
+		double expected = phase.streams * this.fps * this.minThroughput;
+		boolean passed = this.check("throughput", phase.throughput(), "frames/s", phase.throughput() >= expected, ">=",
+				expected);
+		double p99 = phase.percentile(0.99);
+		passed &= this.check("p99 latency", p99, "ms", p99 <= this.maxP99, "<=", this.maxP99);
+		passed &= this.check("display backlog", phase.backlog, "frames", phase.backlog <= this.maxBacklog, "<=",
+				this.maxBacklog);
+		return passed;
+	}
+
+	private boolean check(String name, double value, String unit, boolean passed, String operator, double threshold)
+	{
+		this.print(String.format(Locale.ROOT, "  %-18s %10.1f %-8s (%s %.1f)  %s", name, value, unit, operator,
+				threshold, passed ? "PASS" : "FAIL"));
+		return passed;
+	}
+
+	/**
+	 * Run a number of streams for a given time, sampling the metrics
+	 * ־ ð   Ʈ ϸ ǥ մϴ.
+	 *
+	 * @param count
+	 *            the number of streams
+	 * @param seconds
+	 *            the duration of the phase, warm-up included
+	 * @param warmupSeconds
+	 *            the time before the measures start
+	 * @return the measures
+	 */
+	private Phase runPhase(int count, long seconds, long warmupSeconds)
+	{
+		Phase phase = new Phase(count);
+		// the display thread, shared by the streams as the JavaFX thread
+		// JavaFX ó Ʈ ϴ ǥ 
+		ExecutorService display = Executors.newSingleThreadExecutor();
+		List<Stream> running = new ArrayList<>();
+		for (int i = 0; i < count; i++)
+		{
+			Stream stream = new Stream(this.createSource(i), this.cascade, display, phase);
+			if (!stream.start(this.fps))
+			{
+				System.err.println("Cannot open the source of stream " + i);
+				break;
+			}
+			running.add(stream);
+		}
+
+		this.print("");
+		this.print(" time(s) streams   fps/s  p50(ms)  p95(ms)  p99(ms)  max(ms) heap(MB) live(MB)  rss(MB)   gc gc(ms)"
+				+ " backlog overruns");
+		long start = System.nanoTime();
+		long end = start + TimeUnit.SECONDS.toNanos(seconds);
+		long warmupEnd = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+		boolean measuring = warmupSeconds == 0;
+		phase.measureStart = start;
+		Sample previous = Sample.take(phase, start);
+		while (System.nanoTime() < end)
+		{
+			try
+			{
+				Thread.sleep(TimeUnit.SECONDS.toMillis(this.sample));
+			}
+			catch (InterruptedException e)
+			{
+				break;
+			}
+			if (!measuring && System.nanoTime() >= warmupEnd)
+			{
+				// drop what was measured during the warm-up
+				// ־    
+				measuring = true;
+				phase.total.reset();
+				phase.measureStart = System.nanoTime();
+				phase.measureFrames = phase.frames.get();
+			}
+			Sample current = Sample.take(phase, start);
+			this.print(current.format(previous, count));
+			if (measuring)
+				phase.samples.add(current);
+			previous = current;
+		}
+
+		phase.measureEnd = System.nanoTime();
+		phase.endFrames = phase.frames.get();
+		phase.backlog = phase.pending.get();
+		for (Stream stream : running)
+			stream.stop();
+		display.shutdown();
+		try
+		{
+			display.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		catch (InterruptedException e)
+		{
+			System.err.println("Exception in stopping the display: " + e);
+		}
+		for (Stream stream : running)
+			stream.release();
+		return phase;
+	}
+
+	/**
+	 * @return the source of a stream, as configured
+	 * @return   Ʈ ޿
+	 */
+	private FrameSource createSource(int index)
+	{
+		if ("synthetic".equals(this.source))
+			return new SyntheticFrameSource(this.width, this.height, this.baseImage, index + 1);
+		return new ReplayFrameSource(new File(this.source), false, true);
+	}
+
+	private void print(String line)
+	{
+		System.out.println(line);
+		this.out.println(line);
+		this.out.flush();
+	}
+
+	/**
+	 * A stream driven like the controller drives the camera
+	 * Ʈѷ ī޶ ϴ  Ǵ Ʈ
+	 */
+	private static class Stream
+	{
+		private final FrameSource source;
+		private final CascadeClassifier faceCascade;
+		private final DetectionPipeline pipeline;
+		private final ExecutorService display;
+		private final Phase phase;
+		// the frames read are views on the buffers of the source
+		//   ޿ ۿ  
+		private final boolean zeroCopy;
+		private ScheduledExecutorService timer;
+		// the time the first frame was due and the number of frames due since
+		// ù   ð     
+		private long start;
+		private long due;
+		private long period;
+
+		Stream(FrameSource source, String cascade, ExecutorService display, Phase phase)
+		{
+			this.source = source;
+			this.faceCascade = new CascadeClassifier(cascade);
+			this.pipeline = new DetectionPipeline(FramePreprocessor.fromSystemProperties(), false);
+			this.pipeline.setFaceCascade(this.faceCascade);
+			this.display = display;
+			this.phase = phase;
+			this.zeroCopy = source instanceof ReplayFrameSource;
+		}
+
+		boolean start(double fps)
+		{
+			if (!this.source.open())
+				return false;
+			this.period = Math.round(1e9 / fps);
+			this.start = System.nanoTime();
+			this.timer = Executors.newSingleThreadScheduledExecutor();
+			this.timer.scheduleAtFixedRate(this::grabFrame, 0, this.period, TimeUnit.NANOSECONDS);
+			return true;
+		}
+
+		private void grabFrame()
+		{
+			long scheduled = this.start + this.due++ * this.period;
+			long now = System.nanoTime();
+			if (now - scheduled > this.period)
+				this.phase.overruns.incrementAndGet();
+			try
+			{
+				Mat frame = this.source.read();
+				if (frame.empty())
+				{
+					this.phase.errors.incrementAndGet();
+					return;
+				}
+				this.pipeline.detect(frame);
+
+				// hand the frame to the display thread, like Platform.runLater; a
+				// replayed frame is a view on a mapping that does not outlive a
+				// pass, and the display may be further behind: it gets a copy
+				// Platform.runLateró  ǥ  ;    ȸ   ʴ ο 
+				// ̰ ǥð ׺    Ƿ 纻 
+				Mat shown = this.zeroCopy ? frame.clone() : frame;
+				this.phase.pending.incrementAndGet();
+				this.display.execute(() -> {
+					Utils.matToBufferedImage(shown);
+					shown.release();
+					this.phase.pending.decrementAndGet();
+					this.phase.record(System.nanoTime() - scheduled);
+				});
+			}
+			catch (Exception e)
+			{
+				System.err.println("Exception during the image elaboration: " + e);
+				this.phase.errors.incrementAndGet();
+			}
+		}
+
+		void stop()
+		{
+			this.timer.shutdown();
+			try
+			{
+				this.timer.awaitTermination(1, TimeUnit.MINUTES);
+			}
+			catch (InterruptedException e)
+			{
+				System.err.println("Exception in stopping the stream: " + e);
+			}
+		}
+
+		void release()
+		{
+			this.source.release();
+			this.pipeline.release();
+		}
+	}
+
+	/**
+	 * The measures of a run of some streams
+	 *  Ʈ  
+	 */
+	private static class Phase
+	{
+		final int streams;
+		// counters updated by the streams
+		// Ʈ ϴ ī
+		final AtomicLong frames = new AtomicLong();
+		final AtomicLong overruns = new AtomicLong();
+		final AtomicLong errors = new AtomicLong();
+		final AtomicInteger pending = new AtomicInteger();
+		// latencies of the whole phase, after the warm-up, and of the sample
+		// being taken
+		// ־  ü ܰ  ð     ð
+		final Histogram total = new Histogram();
+		volatile Histogram interval = new Histogram();
+		// the other interval histogram, cleared and reused by the next sample
+		// ٸ  ׷ (   )
+		Histogram spare = new Histogram();
+		final List<Sample> samples = new ArrayList<>();
+		long measureStart;
+		long measureFrames;
+		long measureEnd;
+		long endFrames;
+		int backlog;
+
+		Phase(int streams)
+		{
+			this.streams = streams;
+		}
+
+		void record(long latency)
+		{
+			this.frames.incrementAndGet();
+			this.total.record(latency);
+			this.interval.record(latency);
+		}
+
+		double throughput()
+		{
+			return (this.endFrames - this.measureFrames) * 1e9 / Math.max(this.measureEnd - this.measureStart, 1);
+		}
+
+		double percentile(double p)
+		{
+			return this.total.percentile(p);
+		}
+
+		/**
+		 * @return the growth, in MB, of the live heap or of the RSS: the lowest
+		 *         value over the last third of the samples minus the lowest over
+		 *         the first third
+		 */
+		double growth(boolean heap)
+		{
+			int third = this.samples.size() / 3;
+			if (third == 0)
+				return 0;
+			double first = Double.MAX_VALUE;
+			double last = Double.MAX_VALUE;
+			for (int i = 0; i < third; i++)
+			{
+				first = Math.min(first, heap ? this.samples.get(i).live : this.samples.get(i).rss);
+				Sample end = this.samples.get(this.samples.size() - 1 - i);
+				last = Math.min(last, heap ? end.live : end.rss);
+			}
+			if (first < 0 || last < 0)
+				return Double.NaN;
+			return last - first;
+		}
+	}
+
+	/**
+	 * The metrics at a point in time
+	 * Ư  ǥ
+	 */
+	private static class Sample
+	{
+		long time;
+		long frames;
+		long overruns;
+		// the latency percentiles of the interval, in ms
+		//   ð  (ms)
+		double p50;
+		double p95;
+		double p99;
+		double max;
+		double heap;
+		double live;
+		double rss;
+		long gcCount;
+		long gcTime;
+		int backlog;
+
+		// the collections forced by the samples so far
+		// ݱ   
+		private static long forcedCount;
+		private static long forcedTime;
+
+		static Sample take(Phase phase, long start)
+		{
+			Sample sample = new Sample();
+			sample.time = System.nanoTime() - start;
+			sample.frames = phase.frames.get();
+			sample.overruns = phase.overruns.get();
+			// only the percentiles are kept: a histogram is about 800 KB, which
+			// the samples would add to the live heap they measure
+			//  : ׷  800KB,  ϴ  ִ  ø 
+			Histogram latencies = phase.interval;
+			phase.spare.reset();
+			phase.interval = phase.spare;
+			phase.spare = latencies;
+			sample.p50 = latencies.percentile(0.5);
+			sample.p95 = latencies.percentile(0.95);
+			sample.p99 = latencies.percentile(0.99);
+			sample.max = latencies.percentile(1);
+			sample.backlog = phase.pending.get();
+
+			sample.heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1048576.0;
+			sample.gcCount = gcCount() - forcedCount;
+			sample.gcTime = gcTime() - forcedTime;
+			// the heap still in use after a full collection (the pools that were
+			// never collected would read 0); the forced collection is left out of
+			// the GC columns
+			// ü  Ŀ    (    Ǯ 0 ),   GC  
+			long count = gcCount(), time = gcTime();
+			System.gc();
+			forcedCount += gcCount() - count;
+			forcedTime += gcTime() - time;
+			sample.live = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1048576.0;
+			sample.rss = readRss();
+			return sample;
+		}
+
+		private static long gcCount()
+		{
+			long count = 0;
+			for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+				count += Math.max(gc.getCollectionCount(), 0);
+			return count;
+		}
+
+		private static long gcTime()
+		{
+			long time = 0;
+			for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+				time += Math.max(gc.getCollectionTime(), 0);
+			return time;
+		}
+
+		String format(Sample previous, int streams)
+		{
+			double seconds = (this.time - previous.time) / 1e9;
+			return String.format(Locale.ROOT, "%8.0f %7d %7.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %4d %6d %7d %8d",
+					this.time / 1e9, streams, (this.frames - previous.frames) / seconds,
+					this.p50, this.p95, this.p99, this.max, this.heap, this.live, this.rss, this.gcCount - previous.gcCount,
+					this.gcTime - previous.gcTime, this.backlog, this.overruns - previous.overruns);
+		}
+
+		/**
+		 * @return the resident set size of the process in MB, or -1 if it is
+		 *         not available (outside Linux)
+		 */
+		private static double readRss()
+		{
+			try
+			{
+				for (String line : Files.readAllLines(new File("/proc/self/status").toPath(), StandardCharsets.UTF_8))
+				{
+					if (line.startsWith("VmRSS:"))
+						return Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024.0;
+				}
+			}
+			catch (IOException | NumberFormatException e)
+			{
+				// not available
+				//   
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * A latency histogram with 0.1 ms buckets, up to 10 s
+	 * 0.1ms , ִ 10  ð ׷
+	 */
+	private static class Histogram
+	{
+		private static final long BUCKET = 100_000;
+		private final AtomicLongArray counts = new AtomicLongArray(100_000);
+		private final AtomicLong count = new AtomicLong();
+
+		void record(long nanos)
+		{
+			int bucket = (int) Math.min(Math.max(nanos, 0) / BUCKET, this.counts.length() - 1);
+			this.counts.incrementAndGet(bucket);
+			this.count.incrementAndGet();
+		}
+
+		void reset()
+		{
+			for (int i = 0; i < this.counts.length(); i++)
+				this.counts.set(i, 0);
+			this.count.set(0);
+		}
+
+		/**
+		 * @return the latency, in ms, below which the given fraction of the
+		 *         frames fall (the upper bound of the bucket)
+		 */
+		double percentile(double p)
+		{
+			long total = this.count.get();
+			if (total == 0)
+				return 0;
+			long rank = Math.max((long) Math.ceil(p * total), 1);
+			long seen = 0;
+			for (int i = 0; i < this.counts.length(); i++)
+			{
+				seen += this.counts.get(i);
+				if (seen >= rank)
+					return (i + 1) * BUCKET / 1e6;
+			}
+			return this.counts.length() * BUCKET / 1e6;
+		}
+	}
+}
\ No newline at end of file
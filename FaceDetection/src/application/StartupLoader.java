@@ -0,0 +1,243 @@
+package application;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfByte;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.objdetect.CascadeClassifier;
+
+/**
+ * Load the native OpenCV library and the classifiers in the background while
+ * JavaFX starts and loads the FXML, then run a warm-up detection on a bundled
+ * image so that the first camera frame does not pay for the cold detection
+ * path.
+ * JavaFX ۵ǰ FXML εϴ  ׶忡 Ƽ OpenCV ̺귯 з⸦ εϰ, 
+ * ̹ ־  Ͽ ù ī޶      ġ ʰ մϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public final class StartupLoader
+{
+	// the image used for the warm-up, next to this class: two drawn faces, so
+	// that the warm-up also runs the last stages of the cascade
+	// ־ ϴ ̹ ( Ŭ  ġ): ׷    ־ ־ ĳ̵  ܰ 
+	private static final String WARM_UP_IMAGE = "warmup.jpg";
+
+	private static final ExecutorService LOADER = Executors.newFixedThreadPool(2, runnable -> {
+		Thread thread = new Thread(runnable, "startup-loader");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private static Future<?> nativeLibrary;
+	private static final Map<String, Future<CascadeClassifier>> CLASSIFIERS = new ConcurrentHashMap<>();
+	private static Future<?> warmUp;
+
+	private StartupLoader()
+	{
+	}
+
+	/**
+	 * Start loading in the background
+	 * ׶忡 ε մϴ.
+	 *
+	 * @param warmUpCascade
+	 *            the cascade used for the warm-up, or null for none
+	 * @param cascades
+	 *            the other cascades to load
+	 */
+	public static synchronized void begin(String warmUpCascade, String... cascades)
+	{
+		nativeLibrary = LOADER.submit(() -> {
+			long start = StartupTimer.begin();
+			// load the native OpenCV library
+			// Ƽ OpenCV ̺귯 ε
+			System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+			StartupTimer.end("native library", start);
+		});
+		if (warmUpCascade != null)
+		{
+			preload(warmUpCascade);
+			warmUp = LOADER.submit(() -> warmUp(classifier(warmUpCascade)));
+		}
+		for (String cascade : cascades)
+			preload(cascade);
+	}
+
+	private static void preload(String path)
+	{
+		CLASSIFIERS.computeIfAbsent(path, key -> LOADER.submit(() -> {
+			awaitNativeLibrary();
+			long start = StartupTimer.begin();
+			CascadeClassifier classifier = new CascadeClassifier(key);
+			StartupTimer.end("cascade " + key.substring(Math.max(key.lastIndexOf('\\'), key.lastIndexOf('/')) + 1),
+					start);
+			return classifier;
+		}));
+	}
+
+	/**
+	 * Wait until the native library is loaded (it is loaded now if the
+	 * loading was never started)
+	 * Ƽ ̺귯 ε  ٸϴ (ε ۵ ʾҴٸ  εմϴ).
+	 */
+	public static void awaitNativeLibrary()
+	{
+		Future<?> loading;
+		synchronized (StartupLoader.class)
+		{
+			if (nativeLibrary == null)
+				begin(null);
+			loading = nativeLibrary;
+		}
+		await(loading);
+	}
+
+	/**
+	 * Get a classifier, loaded in the background if it was preloaded
+	 * з⸦ ɴϴ (̸ ε  ׶忡 ε ).
+	 *
+	 * @param path
+	 *            the path of the cascade
+	 * @return the classifier, shared by the callers
+	 */
+	public static CascadeClassifier classifier(String path)
+	{
+		Future<CascadeClassifier> loading = CLASSIFIERS.get(path);
+		if (loading == null)
+		{
+			awaitNativeLibrary();
+			return new CascadeClassifier(path);
+		}
+		return await(loading);
+	}
+
+	/**
+	 * Wait until the warm-up detection is done, if any
+	 * ־    ٸϴ (ִ ).
+	 */
+	public static void awaitWarmUp()
+	{
+		Future<?> running;
+		synchronized (StartupLoader.class)
+		{
+			running = warmUp;
+		}
+		if (running != null)
+			await(running);
+	}
+
+	/**
+	 * @return true if the warm-up detection is done, or if there is none
+	 * @return ־  ų  true
+	 */
+	public static synchronized boolean isWarmedUp()
+	{
+		return warmUp == null || warmUp.isDone();
+	}
+
+	/**
+	 * Run an action on a new thread once the warm-up detection is done, even if
+	 * it failed
+	 * ־   (ϴ)  忡  մϴ.
+	 *
+	 * @param action
+	 *            the action to run
+	 */
+	public static void afterWarmUp(Runnable action)
+	{
+		// not on the loader threads: they may be needed by the warm-up itself
+		// δ 尡 ƴ: ־ ü ʿ  
+		Thread waiting = new Thread(() -> {
+			try
+			{
+				awaitWarmUp();
+			}
+			catch (IllegalStateException e)
+			{
+				System.err.println("Warm-up failed: " + e.getCause());
+			}
+			action.run();
+		}, "startup-warm-up-wait");
+		waiting.setDaemon(true);
+		waiting.start();
+	}
+
+	/**
+	 * Run the detection a few times on the bundled image
+	 *  ̹    մϴ.
+	 */
+	private static void warmUp(CascadeClassifier cascade)
+	{
+		if (cascade.empty())
+			return;
+		long start = StartupTimer.begin();
+		Mat image = loadWarmUpImage();
+		DetectionPipeline pipeline = new DetectionPipeline(FramePreprocessor.fromSystemProperties(), false);
+		pipeline.setFaceCascade(cascade);
+		for (int i = 0; i < 3; i++)
+			pipeline.detect(image);
+		pipeline.release();
+		image.release();
+		StartupTimer.end("warm-up", start);
+	}
+
+	/**
+	 * @return the bundled warm-up image, or a synthetic frame if it is missing
+	 * @return  ־ ̹ ( ռ )
+	 */
+	private static Mat loadWarmUpImage()
+	{
+		try (InputStream input = StartupLoader.class.getResourceAsStream(WARM_UP_IMAGE))
+		{
+			if (input != null)
+			{
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				byte[] buffer = new byte[8192];
+				for (int read = input.read(buffer); read > 0; read = input.read(buffer))
+					bytes.write(buffer, 0, read);
+				Mat image = Imgcodecs.imdecode(new MatOfByte(bytes.toByteArray()), Imgcodecs.IMREAD_COLOR);
+				if (!image.empty())
+					return image;
+			}
+		}
+		catch (IOException e)
+		{
+			System.err.println("Cannot read the warm-up image: " + e);
+		}
+
+		SyntheticFrameSource synthetic = new SyntheticFrameSource(640, 480, null, 1);
+		synthetic.open();
+		Mat image = synthetic.read();
+		synthetic.release();
+		return image;
+	}
+
+	private static <T> T await(Future<T> task)
+	{
+		try
+		{
+			return task.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while starting", e);
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("Startup failed", e.getCause());
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package application;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Record the phases of the application start, from any thread, and print how
+ * the time to the first processed frame breaks down once that frame is shown.
+ * ø̼  ܰ踦  忡 ϰ, ó ó  ǥõǸ ׶ ð 
+ *  մϴ.
+ * The times are given since the start of the JVM.
+ * ð JVM   ˴ϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public final class StartupTimer
+{
+	// the time the class was initialized, at the beginning of main
+	// main   Ŭ ʱȭ ð
+	private static final long ORIGIN = System.nanoTime();
+	private static final ConcurrentLinkedQueue<Phase> PHASES = new ConcurrentLinkedQueue<>();
+	private static final AtomicBoolean REPORTED = new AtomicBoolean();
+
+	private StartupTimer()
+	{
+	}
+
+	/**
+	 * @return the start time of a phase, to give to {@link #end(String, long)}
+	 * @return {@link #end(String, long)}  ܰ  ð
+	 */
+	public static long begin()
+	{
+		return System.nanoTime();
+	}
+
+	/**
+	 * Record a phase that ends now
+	 *   ܰ踦 մϴ.
+	 *
+	 * @param name
+	 *            the name of the phase
+	 * @param start
+	 *            the time returned by {@link #begin()}
+	 */
+	public static void end(String name, long start)
+	{
+		PHASES.add(new Phase(name, Thread.currentThread().getName(), start, System.nanoTime()));
+	}
+
+	/**
+	 * Record an instant event
+	 *  ̺Ʈ մϴ.
+	 *
+	 * @param name
+	 *            the name of the event
+	 */
+	public static void mark(String name)
+	{
+		end(name, System.nanoTime());
+	}
+
+	/**
+	 * Record the first frame shown and print the report, once
+	 * ó ǥõ  ϰ    մϴ.
+	 *
+	 * @return true the first time only
+	 */
+	public static boolean firstFrame()
+	{
+		if (!REPORTED.compareAndSet(false, true))
+			return false;
+		mark("first frame");
+		System.out.print(report());
+		return true;
+	}
+
+	/**
+	 * @return the phases recorded so far, in ms since the start of the JVM
+	 * @return ݱ ϵ ܰ (JVM   ms)
+	 */
+	public static String report()
+	{
+		long now = System.nanoTime();
+		// the management classes are only loaded now, out of the start path
+		//  Ŭ  θ  ݿ ε
+		double uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+		List<Phase> phases = new ArrayList<>(PHASES);
+		Collections.sort(phases, (a, b) -> Long.compare(a.start, b.start));
+
+		StringBuilder report = new StringBuilder();
+		report.append("Startup timing (ms since the JVM started)\n");
+		report.append(String.format(Locale.ROOT, "  %-36s %-16s %9s %9s %9s%n", "phase", "thread", "start", "end",
+				"duration"));
+		report.append(String.format(Locale.ROOT, "  %-36s %-16s %9.1f %9.1f %9.1f%n", "JVM start to main", "main", 0.0,
+				since(uptime, now, ORIGIN), since(uptime, now, ORIGIN)));
+		double firstFrame = -1;
+		for (Phase phase : phases)
+		{
+			double start = since(uptime, now, phase.start), end = since(uptime, now, phase.end);
+			report.append(String.format(Locale.ROOT, "  %-36s %-16s %9.1f %9.1f %9.1f%n", phase.name, phase.thread,
+					start, end, end - start));
+			if ("first frame".equals(phase.name))
+				firstFrame = end;
+		}
+		if (firstFrame >= 0)
+			report.append(String.format(Locale.ROOT, "  time to first frame: %.1f ms%n", firstFrame));
+		return report.toString();
+	}
+
+	private static double since(double uptime, long now, long time)
+	{
+		return uptime - (now - time) / 1e6;
+	}
+
+	/**
+	 * A recorded phase
+	 * ϵ ܰ
+	 */
+	private static class Phase
+	{
+		final String name;
+		final String thread;
+		final long start;
+		final long end;
+
+		Phase(String name, String thread, long start, long end)
+		{
+			this.name = name;
+			this.thread = thread;
+			this.start = start;
+			this.end = end;
+		}
+	}
+}
\ No newline at end of file
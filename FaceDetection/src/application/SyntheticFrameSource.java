@@ -0,0 +1,135 @@
+package application;
+
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * A {@link FrameSource} generating frames at any resolution, for the load
+ * tests: a base image (or smooth random texture) that slowly pans, with
+ * sensor-like noise, so that every frame is different.
+ *  ׽Ʈ  ϴ ػ  ϴ {@link FrameSource}Դϴ: ⺻ ̹ (Ǵ ε巯
+ *  ؽó) õõ ̵ϸ        ٸϴ.
+ * A fixed number of frames is prepared when the source is opened; each read
+ * returns a new copy, as a camera returns a new buffer.
+ * ޿      غϸ, ī޶  ۸ ȯϵ Ź  纻 ȯմϴ.
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class SyntheticFrameSource implements FrameSource
+{
+	// the number of distinct frames
+	//  ٸ  
+	private static final int FRAMES = 32;
+
+	private final int width;
+	private final int height;
+	// the image to pan over, or null for a random texture
+	// ̵ ̹ (  ؽó)
+	private final Mat base;
+	private final long seed;
+	private Mat[] frames;
+	private int next;
+	private long timestamp;
+
+	/**
+	 * Create a synthetic source
+	 * ռ ޿ մϴ.
+	 *
+	 * @param width
+	 *            the width of the frames
+	 * @param height
+	 *            the height of the frames
+	 * @param base
+	 *            the BGR image to pan over, or null for a random texture
+	 * @param seed
+	 *            the seed of the random texture and noise
+	 */
+	public SyntheticFrameSource(int width, int height, Mat base, long seed)
+	{
+		this.width = width;
+		this.height = height;
+		this.base = base;
+		this.seed = seed;
+	}
+
+	@Override
+	public boolean open()
+	{
+		this.release();
+		Core.setRNGSeed((int) this.seed);
+
+		// a frame slightly larger than the output, to pan inside it
+		// º ణ ū  ( ȿ ̵)
+		int margin = FRAMES;
+		Mat canvas = new Mat();
+		Size size = new Size(this.width + margin, this.height + margin);
+		if (this.base != null && !this.base.empty())
+		{
+			Imgproc.resize(this.base, canvas, size, 0, 0, Imgproc.INTER_AREA);
+		}
+		else
+		{
+			Mat small = new Mat(this.height / 16 + 2, this.width / 16 + 2, CvType.CV_8UC3);
+			Core.randu(small, 0, 256);
+			Imgproc.resize(small, canvas, size, 0, 0, Imgproc.INTER_CUBIC);
+			small.release();
+		}
+
+		this.frames = new Mat[FRAMES];
+		Mat noise = new Mat(this.height, this.width, CvType.CV_8UC3);
+		for (int i = 0; i < FRAMES; i++)
+		{
+			// pan back and forth, and add noise
+			// յڷ ̵ϸ  ߰
+			int offset = i < FRAMES / 2 ? i * 2 : (FRAMES - i) * 2;
+			Mat view = canvas.submat(new Rect(offset, offset / 2, this.width, this.height));
+			Core.randn(noise, 128, 4);
+			this.frames[i] = new Mat();
+			Core.addWeighted(view, 1, noise, 1, -128, this.frames[i]);
+			view.release();
+		}
+		noise.release();
+		canvas.release();
+		this.next = 0;
+		return true;
+	}
+
+	@Override
+	public boolean isOpened()
+	{
+		return this.frames != null;
+	}
+
+	@Override
+	public Mat read()
+	{
+		if (this.frames == null)
+			return new Mat();
+		Mat frame = this.frames[this.next].clone();
+		this.next = (this.next + 1) % FRAMES;
+		this.timestamp = System.nanoTime();
+		return frame;
+	}
+
+	@Override
+	public long getTimestamp()
+	{
+		return this.timestamp;
+	}
+
+	@Override
+	public void release()
+	{
+		if (this.frames == null)
+			return;
+		for (Mat frame : this.frames)
+			frame.release();
+		this.frames = null;
+	}
+}
\ No newline at end of file
@@ -2,8 +2,14 @@ package application;
 
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
 import org.opencv.core.Mat;
+import org.opencv.core.Rect;
 
 import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
@@ -15,6 +21,9 @@ import javafx.scene.image.Image;
  * OpenCV-JavaFX  ȯ óϱ  ޼ҵ带 մϴ.
  * Moreover, expose some "low level" methods for matching few JavaFX behavior.
  *  JavaFX   ġŰ ʴ ""޼ҵ带 մϴ.
+ * It also holds the rectangle geometry shared by the detectors, the cache,
+ * the overlay and the anonymizer.
+ *  , ĳ,   ͸ȭⰡ ϴ 簢   ϴ.
  *
  * @author <a href="mailto:luigi.derussis@polito.it">Luigi De Russis</a>
  * @author <a href="http://max-z.de">Maximilian Zuleger</a>
@@ -24,6 +33,10 @@ import javafx.scene.image.Image;
  */
 public final class Utils
 {
+	// faces from different cascades overlapping more than this are the same face
+	//  ٸ ĳ̵  ̺  ġ  Դϴ.
+	static final double MERGE_OVERLAP = 0.3;
+	
 	/**
 	 * Convert a Mat object (OpenCV) in the corresponding Image for JavaFX
 	 * ش Image for JavaFX Mat ü (OpenCV) ȯմϴ.
@@ -66,6 +79,160 @@ public final class Utils
 		});
 	}
 	
+	/**
+	 * Take the luma plane of a raw YUV frame, as the cameras deliver it when
+	 * the conversion to BGR is turned off
+	 * BGR ȯ   ī޶ ϴ  YUV  縶  ɴϴ.
+	 * 
+	 * @param frame
+	 *            the frame as delivered by the backend, either as a 2 channel
+	 *            image or as a single row of bytes
+	 * @param width
+	 *            the width of the frame negotiated with the camera
+	 * @param height
+	 *            the height of the frame negotiated with the camera
+	 * @param lumaChannel
+	 *            the channel of the luma in the packed pixels: 0 for YUYV, 1
+	 *            for UYVY
+	 * @return the luma plane, the frame itself if it is already gray, or null
+	 *         if the layout is unknown
+	 * @return 縶  (̹ ȸ̸  ü,     null)
+	 */
+	public static Mat extractLuma(Mat frame, int width, int height, int lumaChannel)
+	{
+		Mat packed;
+		if (frame.type() == CvType.CV_8UC2 && frame.rows() == height && frame.cols() == width)
+			packed = frame;
+		else if (frame.depth() == CvType.CV_8U && frame.isContinuous()
+				&& frame.total() * frame.channels() == 2L * width * height)
+			packed = frame.reshape(2, height);
+		else if (frame.channels() == 1 && frame.rows() == height && frame.cols() == width)
+		{
+			// already gray (GREY, Y800)
+			// ̹ ȸ (GREY, Y800)
+			return frame;
+		}
+		else
+			return null;
+		
+		Mat luma = new Mat();
+		Core.extractChannel(packed, luma, lumaChannel);
+		return luma;
+	}
+	
+	/**
+	 * Merge the faces found by different cascades: faces overlapping by more
+	 * than {@link #MERGE_OVERLAP} are replaced by their mean rectangle
+	 *  ٸ ĳ̵尡 ã  մϴ: {@link #MERGE_OVERLAP}  ġ   簢
+	 * ü˴ϴ.
+	 *
+	 * @param faces
+	 *            the faces of all the cascades
+	 * @return the merged faces
+	 */
+	public static Rect[] mergeOverlapping(List<Rect> faces)
+	{
+		List<Rect> sorted = new ArrayList<>(faces);
+		sorted.sort(Comparator.comparingDouble(Rect::area).reversed());
+		
+		List<double[]> groups = new ArrayList<>();
+		List<Rect> representatives = new ArrayList<>();
+		for (Rect face : sorted)
+		{
+			int match = -1;
+			for (int i = 0; i < representatives.size() && match < 0; i++)
+			{
+				if (overlap(face, representatives.get(i)) > MERGE_OVERLAP)
+					match = i;
+			}
+			if (match < 0)
+			{
+				representatives.add(face);
+				groups.add(new double[] { face.x, face.y, face.width, face.height, 1 });
+			}
+			else
+			{
+				double[] sum = groups.get(match);
+				sum[0] += face.x;
+				sum[1] += face.y;
+				sum[2] += face.width;
+				sum[3] += face.height;
+				sum[4]++;
+			}
+		}
+		
+		Rect[] merged = new Rect[groups.size()];
+		for (int i = 0; i < merged.length; i++)
+		{
+			double[] sum = groups.get(i);
+			merged[i] = new Rect((int) Math.round(sum[0] / sum[4]), (int) Math.round(sum[1] / sum[4]),
+					(int) Math.round(sum[2] / sum[4]), (int) Math.round(sum[3] / sum[4]));
+		}
+		return merged;
+	}
+	
+	/**
+	 * @return the regions, with the overlapping ones replaced by their
+	 *         bounding box until none overlap
+	 * @return ġ  ġ    ڷ ü 
+	 */
+	public static List<Rect> union(List<Rect> regions)
+	{
+		List<Rect> merged = new ArrayList<>(regions);
+		boolean changed = true;
+		while (changed)
+		{
+			changed = false;
+			for (int i = 0; i < merged.size() && !changed; i++)
+			{
+				for (int j = i + 1; j < merged.size() && !changed; j++)
+				{
+					Rect a = merged.get(i), b = merged.get(j);
+					if (intersection(a, b).area() > 0)
+					{
+						merged.set(i, union(a, b));
+						merged.remove(j);
+						changed = true;
+					}
+				}
+			}
+		}
+		return merged;
+	}
+	
+	/**
+	 * @return the bounding box of two rectangles
+	 * @return  簢  
+	 */
+	public static Rect union(Rect a, Rect b)
+	{
+		int x = Math.min(a.x, b.x), y = Math.min(a.y, b.y);
+		return new Rect(x, y, Math.max(a.x + a.width, b.x + b.width) - x, Math.max(a.y + a.height, b.y + b.height) - y);
+	}
+	
+	/**
+	 * @return the intersection over union of two rectangles
+	 * @return  簢  /  
+	 */
+	public static double overlap(Rect a, Rect b)
+	{
+		Rect common = intersection(a, b);
+		double intersection = common.area();
+		return intersection <= 0 ? 0 : intersection / (a.area() + b.area() - intersection);
+	}
+	
+	/**
+	 * @return the intersection of two rectangles (empty if they are disjoint)
+	 * @return  簢  (ġ   )
+	 */
+	public static Rect intersection(Rect a, Rect b)
+	{
+		int x = Math.max(a.x, b.x), y = Math.max(a.y, b.y);
+		int width = Math.min(a.x + a.width, b.x + b.width) - x;
+		int height = Math.min(a.y + a.height, b.y + b.height) - y;
+		return width > 0 && height > 0 ? new Rect(x, y, width, height) : new Rect(x, y, 0, 0);
+	}
+	
 	/**
 	 * Support for the {@link mat2image()} method
 	 * {@link mat2image ()} ޼ҵ 
@@ -76,7 +243,7 @@ public final class Utils
 	 * @return the corresponding {@link BufferedImage}
 	 * @return ϴ {@link BufferedImage}
 	 */
-	private static BufferedImage matToBufferedImage(Mat original)
+	static BufferedImage matToBufferedImage(Mat original)
 	{
 		// init
 		// ʱȭ
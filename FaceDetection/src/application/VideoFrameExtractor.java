@@ -0,0 +1,456 @@
+package application;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfInt;
+import org.opencv.core.MatOfRect;
+import org.opencv.core.Size;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+import org.opencv.objdetect.CascadeClassifier;
+import org.opencv.objdetect.Objdetect;
+import org.opencv.videoio.VideoCapture;
+
+/**
+ * Command line tool that dumps every Nth frame of a video file into an image
+ * directory, ready to be labeled with Yolo_mark.
+ *   N° Ӹ ̹ 丮 Ͽ Yolo_mark 󺧸  ְ ϴ  Դϴ.
+ * It is the Java equivalent of <code>yolo_mark data/img cap_video test.mp4 10</code>:
+ * <code>yolo_mark data/img cap_video test.mp4 10</code> Java Դϴ.
+ * skipped frames are only grabbed (never decoded), kept frames are encoded
+ * in parallel with a bounded number of frames in flight, and a
+ * <code>train.txt</code> listing the written images is produced at the end.
+ * The entries already in <code>train.txt</code> (e.g., the labeled images of
+ * Yolo_mark) are kept, and only the new images are added.
+ * ǳʶ  grab ϰ(ڵ ),   ޸  ȿ ķ ڵϸ,
+ *   ̹   <code>train.txt</code> մϴ.
+ * <code>train.txt</code> ̹ ִ ׸ (: Yolo_mark 󺧸 ̹) ϰ  ̹ ߰մϴ.
+ *
+ * <pre>
+ * VideoFrameExtractor &lt;images_path&gt; &lt;video_file&gt; [save_each_frames] [options]
+ *   --format jpg|png      output image format (default: jpg)
+ *   --quality &lt;n&gt;         JPEG quality 0-100 or PNG compression 0-9
+ *   --threads &lt;n&gt;         encoding threads (default: available processors)
+ *   --in-flight &lt;n&gt;       max decoded frames waiting to be written (default: 2 * threads)
+ *   --faces &lt;cascade&gt;     keep only frames where the cascade detects a face
+ *   --scene &lt;threshold&gt;   keep only frames that changed from the last kept one
+ *   --train &lt;file&gt;        train.txt to add to (default: &lt;images_path&gt;/../train.txt)
+ *   --prefix &lt;path&gt;       path prefix used in train.txt (default: &lt;images_path&gt;)
+ * </pre>
+ *
+ * @version 1.0 (2026-10-19)
+ * @since 2.0
+ *
+ */
+public class VideoFrameExtractor
+{
+	// size of the thumbnail used for scene change detection
+	//  ȭ  ϴ  ̹ 
+	private static final int SCENE_THUMBNAIL_WIDTH = 64;
+
+	// the directory where the frames are written
+	//   丮
+	private final File imagesPath;
+	// the video file to read
+	// о  
+	private final String videoFile;
+	// save one frame every saveEachFrames frames
+	// saveEachFrames Ӹ ϳ  
+	private int saveEachFrames = 50;
+	private String format = "jpg";
+	private int quality = -1;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int inFlight = 0;
+	// optional filters: face detector and scene change threshold
+	//  :    ȭ Ӱ谪
+	private CascadeClassifier faceCascade;
+	private double sceneThreshold = -1;
+	private File trainFile;
+	private String trainPrefix;
+
+	// the names of the written images, in frame order
+	//  ̹ ̸ ( )
+	private final Map<Integer, String> written = new ConcurrentSkipListMap<>();
+	private final AtomicInteger failed = new AtomicInteger();
+	// the last kept thumbnail, for the scene change filter
+	//  ȭ ͸     ̹
+	private Mat lastThumbnail;
+
+	/**
+	 * Create an extractor for the given video
+	 * ־   ⸦ մϴ.
+	 *
+	 * @param imagesPath
+	 *            the (existing) directory where the frames are written
+	 * @param videoFile
+	 *            the video file to read
+	 */
+	public VideoFrameExtractor(File imagesPath, String videoFile)
+	{
+		this.imagesPath = imagesPath;
+		this.videoFile = videoFile;
+	}
+
+	/**
+	 * Read the whole video and write the selected frames
+	 * ü  а õ  մϴ.
+	 *
+	 * @return the number of written images
+	 * @throws IOException
+	 *             if the video cannot be opened or train.txt cannot be written
+	 */
+	public int extract() throws IOException
+	{
+		VideoCapture capture = new VideoCapture(this.videoFile);
+		if (!capture.isOpened())
+			throw new IOException("Failed to open the video file " + this.videoFile);
+
+		// the base name of the images, as in yolo_mark: <video name>_<counter>
+		// ̹ ⺻ ̸, yolo_mark : < ̸>_<ȣ>
+		String baseName = new File(this.videoFile).getName();
+		if (baseName.lastIndexOf('.') > 0)
+			baseName = baseName.substring(0, baseName.lastIndexOf('.'));
+		MatOfInt params = this.encodingParams();
+
+		// the semaphore bounds the decoded frames waiting for the encoders
+		//  ڴ ٸ ڵ   մϴ.
+		int maxInFlight = this.inFlight > 0 ? this.inFlight : 2 * this.threads;
+		Semaphore slots = new Semaphore(maxInFlight);
+		ExecutorService encoders = Executors.newFixedThreadPool(this.threads);
+
+		long frameIndex = 0;
+		int imageCounter = 0;
+		try
+		{
+			// grab() only demuxes: the frame is decoded by retrieve(), so
+			// skipped frames never pay the decoding cost
+			// grab() Խ̸ մϴ:  retrieve() ڵǹǷ
+			// ǳʶ  ڵ   ʽϴ.
+			while (capture.grab())
+			{
+				if (frameIndex++ % this.saveEachFrames != 0)
+					continue;
+
+				Mat frame = new Mat();
+				if (!capture.retrieve(frame) || frame.empty() || !this.accept(frame))
+				{
+					frame.release();
+					continue;
+				}
+
+				// wait for a free slot before handing the frame to the pool
+				//  Ǯ ѱ    ٸ
+				slots.acquireUninterruptibly();
+				final int index = imageCounter++;
+				final String name = baseName + "_" + index + "." + this.format;
+				encoders.execute(() -> {
+					try
+					{
+						if (Imgcodecs.imwrite(new File(this.imagesPath, name).getPath(), frame, params))
+							this.written.put(index, name);
+						else
+							this.failed.incrementAndGet();
+					}
+					finally
+					{
+						frame.release();
+						slots.release();
+					}
+				});
+			}
+		}
+		finally
+		{
+			encoders.shutdown();
+			try
+			{
+				encoders.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			capture.release();
+		}
+
+		this.writeTrainFile();
+		return this.written.size();
+	}
+
+	/**
+	 * Apply the optional face and scene change filters to a decoded frame
+	 * ڵ ӿ     ȭ ͸ մϴ.
+	 *
+	 * @param frame
+	 *            the candidate frame
+	 * @return true if the frame must be written
+	 */
+	private boolean accept(Mat frame)
+	{
+		if (this.faceCascade == null && this.sceneThreshold < 0)
+			return true;
+
+		Mat grayFrame = new Mat();
+		Imgproc.cvtColor(frame, grayFrame, Imgproc.COLOR_BGR2GRAY);
+		Mat thumbnail = this.sceneThreshold >= 0 ? this.thumbnail(grayFrame) : null;
+		try
+		{
+			// with both filters enabled, either one is enough to keep the frame
+			//  Ͱ  ȰȭǸ ϳ ص  մϴ.
+			boolean kept = (thumbnail != null && this.sceneChanged(thumbnail))
+					|| (this.faceCascade != null && this.hasFaces(grayFrame));
+			// the next scene changes are measured from the last kept frame,
+			// whichever filter kept it
+			//   ȭ  Ͱ ߵ     մϴ.
+			if (kept && thumbnail != null)
+			{
+				if (this.lastThumbnail != null)
+					this.lastThumbnail.release();
+				this.lastThumbnail = thumbnail;
+				thumbnail = null;
+			}
+			return kept;
+		}
+		finally
+		{
+			grayFrame.release();
+			if (thumbnail != null)
+				thumbnail.release();
+		}
+	}
+
+	/**
+	 * @return a thumbnail of the frame, for the scene change filter
+	 * @return  ȭ ͸    ̹
+	 */
+	private Mat thumbnail(Mat grayFrame)
+	{
+		int height = Math.max(1, grayFrame.rows() * SCENE_THUMBNAIL_WIDTH / grayFrame.cols());
+		Mat thumbnail = new Mat();
+		Imgproc.resize(grayFrame, thumbnail, new Size(SCENE_THUMBNAIL_WIDTH, height), 0, 0, Imgproc.INTER_AREA);
+		return thumbnail;
+	}
+
+	/**
+	 * Compare a thumbnail of the frame with the last kept one
+	 *   ̹   Ͱ մϴ.
+	 *
+	 * @param thumbnail
+	 *            the thumbnail of the frame
+	 * @return true if the mean absolute difference is above the threshold
+	 */
+	private boolean sceneChanged(Mat thumbnail)
+	{
+		if (this.lastThumbnail == null)
+			return true;
+		Mat diff = new Mat();
+		Core.absdiff(thumbnail, this.lastThumbnail, diff);
+		double change = Core.mean(diff).val[0];
+		diff.release();
+		return change > this.sceneThreshold;
+	}
+
+	/**
+	 * Run the face cascade on the frame, as the FaceDetection application does
+	 * FaceDetection ø̼ǰ   ӿ  cascade մϴ.
+	 *
+	 * @param grayFrame
+	 *            the frame in gray scale
+	 * @return true if at least one face has been found
+	 */
+	private boolean hasFaces(Mat grayFrame)
+	{
+		MatOfRect faces = new MatOfRect();
+		Mat equalized = new Mat();
+		Imgproc.equalizeHist(grayFrame, equalized);
+
+		// minimum face size: 20% of the frame height
+		// ּ  ũ:   20%
+		int faceSize = Math.round(grayFrame.rows() * 0.2f);
+		this.faceCascade.detectMultiScale(equalized, faces, 1.1, 2, 0 | Objdetect.CASCADE_SCALE_IMAGE,
+				new Size(faceSize, faceSize), new Size());
+		boolean found = !faces.empty();
+
+		faces.release();
+		equalized.release();
+		return found;
+	}
+
+	/**
+	 * Build the imwrite parameters for the selected format
+	 *  Ŀ  imwrite Ű ϴ.
+	 *
+	 * @return the encoding parameters
+	 */
+	private MatOfInt encodingParams()
+	{
+		if (this.quality < 0)
+			return new MatOfInt();
+		if ("png".equals(this.format))
+			return new MatOfInt(Imgcodecs.IMWRITE_PNG_COMPRESSION, this.quality);
+		return new MatOfInt(Imgcodecs.IMWRITE_JPEG_QUALITY, this.quality);
+	}
+
+	/**
+	 * Write the list of the written images, one per line, as Yolo expects,
+	 * after the entries already in the file
+	 * Yolo 䱸ϴ   ̹  Ͽ ̹ ִ ׸   ٿ ϳ ϴ.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	private void writeTrainFile() throws IOException
+	{
+		File train = this.trainFile;
+		if (train == null)
+			train = new File(this.imagesPath.getAbsoluteFile().getParentFile(), "train.txt");
+		String prefix = this.trainPrefix != null ? this.trainPrefix : this.imagesPath.getPath();
+		prefix = prefix.replace('\\', '/');
+		if (!prefix.isEmpty() && !prefix.endsWith("/"))
+			prefix += "/";
+
+		// keep the existing entries, without adding them twice
+		//  ׸ ϰ ߺ ߰ 
+		Set<String> entries = new LinkedHashSet<>();
+		if (train.exists())
+		{
+			for (String line : Files.readAllLines(train.toPath(), StandardCharsets.UTF_8))
+			{
+				if (!line.trim().isEmpty())
+					entries.add(line.trim());
+			}
+		}
+		int existing = entries.size();
+		for (String name : this.written.values())
+			entries.add(prefix + name);
+
+		try (PrintWriter writer = new PrintWriter(train, "UTF-8"))
+		{
+			for (String entry : entries)
+				writer.print(entry + "\n");
+		}
+		System.out.println((entries.size() - existing) + " images added to " + train + " (" + existing
+				+ " already listed)");
+	}
+
+	/**
+	 * Print the command line usage
+	 *   մϴ.
+	 */
+	private static void usage()
+	{
+		System.err.println("Usage: VideoFrameExtractor <images_path> <video_file> [save_each_frames] [options]");
+		System.err.println("  --format jpg|png      output image format (default: jpg)");
+		System.err.println("  --quality <n>         JPEG quality 0-100 or PNG compression 0-9");
+		System.err.println("  --threads <n>         encoding threads (default: available processors)");
+		System.err.println("  --in-flight <n>       max decoded frames waiting to be written (default: 2 * threads)");
+		System.err.println("  --faces <cascade>     keep only frames where the cascade detects a face");
+		System.err.println("  --scene <threshold>   keep only frames that changed from the last kept one (0-255)");
+		System.err.println("  --train <file>        train.txt to add to (default: <images_path>/../train.txt)");
+		System.err.println("  --prefix <path>       path prefix used in train.txt (default: <images_path>)");
+	}
+
+	public static void main(String[] args)
+	{
+		if (args.length < 2)
+		{
+			usage();
+			System.exit(1);
+		}
+
+		// load the native OpenCV library
+		// Ƽ OpenCV ̺귯 ε
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+
+		File imagesPath = new File(args[0]);
+		if (!imagesPath.isDirectory())
+		{
+			System.err.println("Directory " + imagesPath + " should be created before this...");
+			System.exit(1);
+		}
+		VideoFrameExtractor extractor = new VideoFrameExtractor(imagesPath, args[1]);
+
+		try
+		{
+			int i = 2;
+			if (args.length > 2 && !args[2].startsWith("--"))
+				extractor.saveEachFrames = Math.max(1, Integer.parseInt(args[i++]));
+			for (; i < args.length; i++)
+			{
+				String option = args[i];
+				if (i + 1 >= args.length)
+					throw new IllegalArgumentException("Missing value for " + option);
+				String value = args[++i];
+				switch (option)
+				{
+					case "--format":
+						extractor.format = value.toLowerCase();
+						if (!"jpg".equals(extractor.format) && !"png".equals(extractor.format))
+							throw new IllegalArgumentException("Unsupported format " + value);
+						break;
+					case "--quality":
+						extractor.quality = Integer.parseInt(value);
+						break;
+					case "--threads":
+						extractor.threads = Math.max(1, Integer.parseInt(value));
+						break;
+					case "--in-flight":
+						extractor.inFlight = Math.max(1, Integer.parseInt(value));
+						break;
+					case "--faces":
+						extractor.faceCascade = new CascadeClassifier();
+						if (!extractor.faceCascade.load(value))
+							throw new IllegalArgumentException("Failed to load the cascade " + value);
+						break;
+					case "--scene":
+						extractor.sceneThreshold = Double.parseDouble(value);
+						break;
+					case "--train":
+						extractor.trainFile = new File(value);
+						break;
+					case "--prefix":
+						extractor.trainPrefix = value;
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown option " + option);
+				}
+			}
+		}
+		catch (IllegalArgumentException e)
+		{
+			System.err.println(e.getMessage());
+			usage();
+			System.exit(1);
+		}
+
+		try
+		{
+			long start = System.nanoTime();
+			int count = extractor.extract();
+			System.out.println("saved " + count + " images in " + imagesPath + " ("
+					+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms)");
+			if (extractor.failed.get() > 0)
+				System.err.println("Failed to write " + extractor.failed.get() + " images");
+		}
+		catch (IOException e)
+		{
+			System.err.println("Exception during the frame extraction: " + e);
+			System.exit(1);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+@echo off
+echo     Example how to build a class data sharing (AppCDS) archive for a faster start of FaceDetection
+echo     1. start once with the camera, exit after the first frame and record the loaded classes
+echo     2. dump these classes into the archive
+echo     3. start with the archive: the startup timing is printed after the first frame
+echo     The class path must be made of jars (build\dist) and be the same for the three commands
+echo     JDK 8u40+ (Oracle): add -XX:+UnlockCommercialFeatures -XX:+UseAppCDS to the three commands
+echo     JDK 13+: steps 1 and 2 can be replaced by -XX:ArchiveClassesAtExit=FaceDetection.jsa in step 1
+
+
+set CP=build\dist\FaceDetection.jar;C:\opencv\build\java\opencv-342.jar
+set LIB=C:\opencv\build\java\x64
+
+
+java -XX:DumpLoadedClassList=FaceDetection.classlist -Djava.library.path=%LIB% -Dfacedetection.autostart=haar -Dfacedetection.startup.exit=true -cp %CP% application.FaceDetection
+
+java -Xshare:dump -XX:SharedClassListFile=FaceDetection.classlist -XX:SharedArchiveFile=FaceDetection.jsa -cp %CP%
+
+java -Xshare:auto -XX:SharedArchiveFile=FaceDetection.jsa -Djava.library.path=%LIB% -Dfacedetection.autostart=haar -cp %CP% application.FaceDetection
+
+
+pause
\ No newline at end of file
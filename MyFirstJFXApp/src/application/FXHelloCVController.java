@@ -7,6 +7,8 @@ import java.util.concurrent.TimeUnit;
 import org.opencv.core.Mat;
 import org.opencv.imgproc.Imgproc;
 import org.opencv.videoio.VideoCapture;
+import org.opencv.videoio.VideoWriter;
+import org.opencv.videoio.Videoio;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -42,6 +44,11 @@ public class FXHelloCVController
 	private boolean cameraActive = false;
 	// the id of the camera to be used
 	private static int cameraId = 0;
+	// true if the camera delivers raw YUYV frames, whose luma plane is the gray frame
+	private boolean rawCapture = false;
+	private int lumaChannel;
+	private int frameWidth;
+	private int frameHeight;
 	
 	/**
 	 * The action triggered by pushing the button on the GUI
@@ -61,6 +68,7 @@ public class FXHelloCVController
 			if (this.capture.isOpened())
 			{
 				this.cameraActive = true;
+				this.rawCapture = this.negotiateRawCapture();
 				
 				// grab a frame every 33 ms (30 frames/sec)
 				Runnable frameGrabber = new Runnable() {
@@ -121,7 +129,31 @@ public class FXHelloCVController
 				// if the frame is not empty, process it
 				if (!frame.empty())
 				{
-					Imgproc.cvtColor(frame, frame, Imgproc.COLOR_BGR2GRAY);
+					if (this.rawCapture)
+					{
+						// the gray frame is the luma plane of the raw frame (a gray
+						// frame is its own luma plane)
+						Mat luma = Utils.extractLuma(frame, this.frameWidth, this.frameHeight, this.lumaChannel);
+						if (luma != null)
+						{
+							if (luma != frame)
+								frame.release();
+							frame = luma;
+						}
+						else
+						{
+							// not a layout we know (e.g., MJPG): go back to BGR
+							System.err.println("Unexpected raw frame " + frame + ", capturing in BGR");
+							this.rawCapture = false;
+							this.capture.set(Videoio.CAP_PROP_CONVERT_RGB, 1);
+							frame.release();
+							frame = new Mat();
+						}
+					}
+					else
+					{
+						Imgproc.cvtColor(frame, frame, Imgproc.COLOR_BGR2GRAY);
+					}
 				}
 				
 			}
@@ -135,6 +167,26 @@ public class FXHelloCVController
 		return frame;
 	}
 	
+	/**
+	 * Ask the camera for YUYV frames without the conversion to BGR, so that the
+	 * gray frame is taken from the luma plane instead of being computed
+	 * 
+	 * @return true if the backend accepted to skip the conversion to BGR
+	 */
+	private boolean negotiateRawCapture()
+	{
+		this.capture.set(Videoio.CAP_PROP_FOURCC, VideoWriter.fourcc('Y', 'U', 'Y', 'V'));
+		if (!this.capture.set(Videoio.CAP_PROP_CONVERT_RGB, 0))
+			return false;
+		
+		this.frameWidth = (int) this.capture.get(Videoio.CAP_PROP_FRAME_WIDTH);
+		this.frameHeight = (int) this.capture.get(Videoio.CAP_PROP_FRAME_HEIGHT);
+		// the camera may have picked the other packed YUV order
+		boolean uyvy = (int) this.capture.get(Videoio.CAP_PROP_FOURCC) == VideoWriter.fourcc('U', 'Y', 'V', 'Y');
+		this.lumaChannel = uyvy ? 1 : 0;
+		return true;
+	}
+	
 	/**
 	 * Stop the acquisition from the camera and release all the resources
 	 */
@@ -3,6 +3,8 @@ package application;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
 
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 
 import javafx.application.Platform;
@@ -58,6 +60,44 @@ public final class Utils
 		});
 	}
 	
+	/**
+	 * Take the luma plane of a raw YUV frame, as the cameras deliver it when
+	 * the conversion to BGR is turned off
+	 * 
+	 * @param frame
+	 *            the frame as delivered by the backend, either as a 2 channel
+	 *            image or as a single row of bytes
+	 * @param width
+	 *            the width of the frame negotiated with the camera
+	 * @param height
+	 *            the height of the frame negotiated with the camera
+	 * @param lumaChannel
+	 *            the channel of the luma in the packed pixels: 0 for YUYV, 1
+	 *            for UYVY
+	 * @return the luma plane, the frame itself if it is already gray, or null
+	 *         if the layout is unknown
+	 */
+	public static Mat extractLuma(Mat frame, int width, int height, int lumaChannel)
+	{
+		Mat packed;
+		if (frame.type() == CvType.CV_8UC2 && frame.rows() == height && frame.cols() == width)
+			packed = frame;
+		else if (frame.depth() == CvType.CV_8U && frame.isContinuous()
+				&& frame.total() * frame.channels() == 2L * width * height)
+			packed = frame.reshape(2, height);
+		else if (frame.channels() == 1 && frame.rows() == height && frame.cols() == width)
+		{
+			// already gray (GREY, Y800)
+			return frame;
+		}
+		else
+			return null;
+		
+		Mat luma = new Mat();
+		Core.extractChannel(packed, luma, lumaChannel);
+		return luma;
+	}
+	
 	/**
 	 * Support for the {@link mat2image()} method
 	 * 